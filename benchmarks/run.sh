@@ -0,0 +1,15 @@
+#!/bin/sh
+# Build the benchmark jar and run it from the repository root (the render benchmark loads the
+# game's assets from there), saving JMH's JSON results under benchmarks/results/ named after
+# the current commit so runs can be compared across commits.
+# Usage: benchmarks/run.sh [JMH options...], e.g. benchmarks/run.sh Engine -p board=48x32
+set -e
+cd "$(dirname "$0")/.."
+mvn -B -q package -DskipTests
+commit=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+if ! git diff --quiet HEAD 2>/dev/null; then
+    commit="$commit-dirty"
+fi
+mkdir -p benchmarks/results
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "benchmarks/results/$commit.json" "$@"
+echo "Results saved to benchmarks/results/$commit.json"
@@ -0,0 +1,68 @@
+package snake;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Arena Throughput: snake-ticks per second against the number of snakes, on one thread and on
+// every core. The board grows with the snake count to keep the density the same, and the
+// snakeTicks counter reports the rate directly next to the per-tick time.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArenaBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int snakes;
+
+    @Param({ "1", "0" }) // 0 for every available core
+    public int threads;
+
+    private ForkJoinPool pool;
+    private Arena arena;
+
+    // Snakes Moved, reported by JMH as a rate
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long snakeTicks;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        int side = (int) Math.sqrt(snakes * 400.0); // 400 cells per snake
+        arena = new Arena(side, side, snakes, 256, snakes / 4 + 1, 42, pool);
+        for (int t = 0; t < 200; t++) {
+            arena.step(); // Past the start, so snakes have grown and some have died
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long tick(Counters counters) {
+        arena.step();
+        counters.snakeTicks += snakes;
+        return arena.getTick();
+    }
+}
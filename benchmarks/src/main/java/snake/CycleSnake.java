@@ -0,0 +1,52 @@
+package snake;
+
+import java.util.Random;
+
+// Cycle Snake: steers a snake around the Hamiltonian cycle so it never dies, which lets the
+// benchmarks hold a snake of any length on any board. Boards need an even number of rows.
+final class CycleSnake {
+    private CycleSnake() {
+    }
+
+    // Create an Engine and Grow the snake along the cycle to the given length, without food
+    static SnakeEngine grownEngine(int columns, int rows, int length) {
+        SnakeEngine engine = new SnakeEngine(columns, rows, new Random(42));
+        grow(engine, length);
+        return engine;
+    }
+
+    // Grow a Freshly Reset Engine's snake along the cycle to the given length, without food
+    static void grow(SnakeEngine engine, int length) {
+        if (engine.getRows() % 2 != 0) {
+            throw new IllegalArgumentException("rows must be even for the Hamiltonian cycle");
+        }
+        tick(engine); // Join the cycle before growing
+        engine.grow(length);
+        while (engine.getBodyLength() < length) {
+            if (tick(engine) != 0) {
+                throw new IllegalStateException("snake left the cycle");
+            }
+        }
+    }
+
+    // One Tick without Food: steer, move and check collisions
+    static int tick(SnakeEngine engine) {
+        engine.steer(nextDirection(engine));
+        engine.moveSnake();
+        return engine.checkCollisions();
+    }
+
+    // Follow the Hamiltonian cycle, turning up first if the cycle points backwards
+    static Direction nextDirection(SnakeEngine engine) {
+        Direction direction = Autopilot.cycleDirection(engine.getHeadX(), engine.getHeadY(), engine.getColumns(), engine.getRows());
+        if (direction.dx == -engine.getVelocityX() && direction.dy == -engine.getVelocityY()) {
+            return Direction.UP;
+        }
+        return direction;
+    }
+
+    // Clamp a Requested Length so the snake fits on the board with room for food
+    static int fit(int length, int columns, int rows) {
+        return Math.min(length, columns * rows - 2);
+    }
+}
@@ -0,0 +1,104 @@
+package snake;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Engine Tick Cost by board size and snake length. The snake follows the Hamiltonian cycle so
+// it never dies and, with no food eaten, its length stays fixed for the whole measurement.
+// Board is "columns x rows" in tiles; lengths too long for a board are clamped to fit.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+    @Param({"24x24", "48x32", "200x200", "10000x10000"})
+    public String board;
+
+    @Param({"10", "100", "1000"})
+    public int length;
+
+    private SnakeEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int columns = Integer.parseInt(board.substring(0, board.indexOf('x')));
+        int rows = Integer.parseInt(board.substring(board.indexOf('x') + 1));
+        engine = CycleSnake.grownEngine(columns, rows, CycleSnake.fit(length, columns, rows));
+    }
+
+    // Steer and Move One Tile along the cycle
+    @Benchmark
+    public int moveSnake() {
+        engine.steer(CycleSnake.nextDirection(engine));
+        engine.moveSnake();
+        return engine.getHeadX();
+    }
+
+    // Wall and Self Collision Check at the current position
+    @Benchmark
+    public int checkCollisions() {
+        return engine.checkCollisions();
+    }
+
+    // Food Check; the food is never under the head, so this measures the miss path taken on most ticks
+    @Benchmark
+    public int checkFoodCollision() {
+        return engine.checkFoodCollision();
+    }
+
+    // A Full Tick: steer, move and check collisions
+    @Benchmark
+    public int tick() {
+        return CycleSnake.tick(engine);
+    }
+
+    // Food Placement Cost at a given occupancy. The snake is grown with full steps so food is
+    // eaten and the free-cell index stays exact.
+    @State(Scope.Thread)
+    public static class Placement {
+        @Param({"24x24", "48x32", "200x200", "10000x10000"})
+        public String board;
+
+        @Param({"10", "100", "1000"})
+        public int length;
+
+        SnakeEngine engine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int columns = Integer.parseInt(board.substring(0, board.indexOf('x')));
+            int rows = Integer.parseInt(board.substring(board.indexOf('x') + 1));
+            int target = Math.min(length, columns * rows * 99 / 100);
+            engine = new SnakeEngine(columns, rows, new Random(42));
+            engine.step(CycleSnake.nextDirection(engine)); // Join the cycle before growing
+            engine.grow(target);
+            while (engine.getBodyLength() < target && !engine.isGameOver()) {
+                engine.step(CycleSnake.nextDirection(engine));
+            }
+            if (engine.isGameOver()) {
+                throw new IllegalStateException("snake left the cycle");
+            }
+        }
+    }
+
+    @Benchmark
+    public int placeFood(Placement placement) {
+        placement.engine.placeFood();
+        return placement.engine.getFoodX();
+    }
+}
@@ -0,0 +1,67 @@
+package snake;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// High Score File Round Trip through a temporary file. Timings include the hand-off to the
+// store's I/O thread and, for saves, the fsync and atomic rename.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighScoreBenchmark {
+    @Param({"10", "100"})
+    public int entries;
+
+    private Path directory;
+    private HighScoreStore store;
+    private List<HighScore> scores;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("highscores");
+        store = new HighScoreStore(directory.resolve("highscores.dat").toString());
+        scores = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            scores.add(new HighScore("Player " + i, (entries - i) * 10));
+        }
+        store.save(scores).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("highscores.dat"));
+        Files.deleteIfExists(directory.resolve("highscores.dat.tmp"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<HighScore> load() {
+        return store.load().join();
+    }
+
+    @Benchmark
+    public void save() {
+        store.save(scores).join();
+    }
+}
@@ -0,0 +1,87 @@
+package snake;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Leaderboard under Contention: one in-memory board filled with the given number of players,
+// shared by every benchmark thread. The single-operation benchmarks run on four threads; the
+// mixed group has three threads submitting scores while one asks for ranks and neighbors, as
+// game sessions finishing while others look at the table. Raise the thread counts with -t and
+// -tg to see how throughput scales on more cores.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    @Param({"10000", "1000000"})
+    public int players;
+
+    private Leaderboard leaderboard;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        leaderboard = new Leaderboard();
+        names = new String[players];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < players; i++) {
+            names[i] = "Player " + i;
+            leaderboard.submit(names[i], random.nextInt(10_000));
+        }
+    }
+
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(players)];
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean submit() {
+        return leaderboard.submit(randomName(), ThreadLocalRandom.current().nextInt(20_000));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long rank() {
+        return leaderboard.rank(randomName());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<HighScore> around() {
+        return leaderboard.around(randomName(), 5);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedSubmit() {
+        return submit();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<HighScore> mixedAround() {
+        return leaderboard.around(randomName(), 5);
+    }
+}
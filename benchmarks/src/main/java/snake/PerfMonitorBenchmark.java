@@ -0,0 +1,39 @@
+package snake;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Instrumentation Overhead: the cost the performance monitor adds to every tick and frame,
+// with no Flight Recorder recording running. Run with -prof gc to confirm it allocates nothing.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerfMonitorBenchmark {
+    private final PerfMonitor monitor = new PerfMonitor();
+    private long sample = 1;
+
+    @Benchmark
+    public void recordTick() {
+        sample = sample * 6364136223846793005L + 1442695040888963407L; // Spread values over the buckets
+        long simulation = (sample >>> 44) & 0xFFFFF;
+        monitor.recordTick(simulation, 100_000_000L + (sample & 0xFFFFF), 100_000_000L);
+    }
+
+    @Benchmark
+    public void recordPaint() {
+        sample = sample * 6364136223846793005L + 1442695040888963407L;
+        monitor.recordPaint((sample >>> 40) & 0xFFFFFF);
+    }
+}
@@ -0,0 +1,75 @@
+package snake;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// In-Game Frame Cost: paints the game panel into an offscreen window-sized image in headless
+// mode, with a snake of the given length on the cycle. Boards larger than the window scroll, so
+// the frame cost should follow the window size rather than the board size. The renderer is
+// either the sprite atlas or the per-tile fill3DRect shapes it replaced. Assets load from the
+// working directory, so run from the repository root.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"24x24", "48x32", "1000x1000", "10000x10000"})
+    public String board;
+
+    @Param({"10", "100", "500", "1000"})
+    public int length;
+
+    @Param({"sprites", "shapes"})
+    public String renderer;
+
+    @Param({"1200x800"})
+    public String window;
+
+    private SnakeGame game;
+    private BufferedImage frame;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int columns = Integer.parseInt(board.substring(0, board.indexOf('x')));
+        int rows = Integer.parseInt(board.substring(board.indexOf('x') + 1));
+        int width = Integer.parseInt(window.substring(0, window.indexOf('x')));
+        int height = Integer.parseInt(window.substring(window.indexOf('x') + 1));
+        game = new SnakeGame(width, height, null);
+        game.setBoard(columns, rows);
+        game.spritesEnabled = renderer.equals("sprites");
+        game.engine.reset(42);
+        CycleSnake.grow(game.engine, CycleSnake.fit(length, columns, rows));
+        game.gameStarted = true; // Draw the game without starting the game loop
+        frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = frame.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        game.paintComponent(graphics);
+        return frame;
+    }
+}
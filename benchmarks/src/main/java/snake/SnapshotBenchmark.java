@@ -0,0 +1,78 @@
+package snake;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Duel State Snapshots by board size: saving and restoring the whole DuelEngine state, and one
+// rollback of the given depth as RollbackSession does it (restore, then save and step each
+// frame again). The game is first played for a while by the DuelLoopback bots so the snakes
+// have bodies. Board is "columns x rows" in tiles.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"32x24", "100x100"})
+    public String board;
+
+    @Param({"8"})
+    public int depth;
+
+    private DuelEngine engine;
+    private int[][] snapshots;
+    private int[] inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int columns = Integer.parseInt(board.substring(0, board.indexOf('x')));
+        int rows = Integer.parseInt(board.substring(board.indexOf('x') + 1));
+        engine = new DuelEngine(columns, rows, DuelLoopback.FRAMES_PER_MOVE, 42);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int frame = 0; frame < 3600; frame++) {
+            engine.step(DuelEngine.inputs(DuelLoopback.bot(engine, 0, random), DuelLoopback.bot(engine, 1, random)));
+        }
+        snapshots = new int[depth + 1][engine.stateSize()];
+        inputs = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            inputs[i] = DuelEngine.inputs(DuelLoopback.bot(engine, 0, random), DuelLoopback.bot(engine, 1, random));
+        }
+        engine.save(snapshots[0]);
+    }
+
+    @Benchmark
+    public int[] save() {
+        engine.save(snapshots[1]);
+        return snapshots[1];
+    }
+
+    @Benchmark
+    public long restore() {
+        engine.restore(snapshots[0]);
+        return engine.getFrame();
+    }
+
+    @Benchmark
+    public long rollback() {
+        engine.restore(snapshots[0]);
+        for (int i = 0; i < depth; i++) {
+            engine.save(snapshots[i + 1]);
+            engine.step(inputs[i]);
+        }
+        return engine.checksum();
+    }
+}
@@ -0,0 +1,111 @@
+package snake;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cold-Start Harness: launches the game jar in a fresh JVM again and again with the startup probe
+// on, and reports the time from launch to the first frame, to the menu with its background and to
+// every asset loaded, for the eager loading screen, the lazy menu-first start, and the lazy start
+// with an AppCDS archive. The archive is created by one training run when it is missing or older
+// than the jar. Run from the repository root, where the game finds its images and sounds; without
+// a display the game draws off screen.
+//
+//   java -cp benchmarks/target/benchmarks.jar snake.StartupHarness [runs] [jar]
+public class StartupHarness {
+    private static final String[] MILESTONES = {"first-paint", "menu", "loaded"};
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path jar = Paths.get(args.length > 1 ? args[1] : "game/target/snake.jar");
+        if (!Files.exists(jar)) {
+            System.err.println("Game jar not found: " + jar + " (build with mvn -B package)");
+            System.exit(1);
+        }
+        Path archive = jar.resolveSibling("snake.jsa");
+        if (!Files.exists(archive) || Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(jar)) < 0) {
+            System.out.println("Creating " + archive + "...");
+            Files.deleteIfExists(archive);
+            launch(jar, "-XX:ArchiveClassesAtExit=" + archive);
+            if (!Files.exists(archive)) {
+                System.err.println("The JVM did not create the archive; skipping the CDS runs.");
+            }
+        }
+
+        Map<String, String[]> configurations = new LinkedHashMap<>();
+        configurations.put("eager", new String[] {"-Dsnake.startup=eager"});
+        configurations.put("lazy", new String[0]);
+        if (Files.exists(archive)) {
+            configurations.put("lazy+cds", new String[] {"-XX:SharedArchiveFile=" + archive, "-Xshare:auto"});
+        }
+
+        // Interleave the configurations so drift in the machine's load affects each alike
+        Map<String, Map<String, List<Long>>> results = new LinkedHashMap<>();
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, String[]> configuration : configurations.entrySet()) {
+                Map<String, Long> times = launch(jar, configuration.getValue());
+                Map<String, List<Long>> samples = results.computeIfAbsent(configuration.getKey(), key -> new LinkedHashMap<>());
+                for (Map.Entry<String, Long> time : times.entrySet()) {
+                    samples.computeIfAbsent(time.getKey(), key -> new ArrayList<>()).add(time.getValue());
+                }
+            }
+        }
+
+        System.out.printf("%d runs each, milliseconds from launch (median / p90)%n", runs);
+        System.out.printf("%-10s", "");
+        for (String milestone : MILESTONES) {
+            System.out.printf("%16s", milestone);
+        }
+        System.out.println();
+        for (Map.Entry<String, Map<String, List<Long>>> result : results.entrySet()) {
+            System.out.printf("%-10s", result.getKey());
+            for (String milestone : MILESTONES) {
+                List<Long> samples = result.getValue().get(milestone);
+                System.out.printf("%16s", samples == null ? "-" : percentile(samples, 50) + " / " + percentile(samples, 90));
+            }
+            System.out.println();
+        }
+    }
+
+    // Run the Game once in a Fresh JVM and Collect Its Startup Milestones
+    private static Map<String, Long> launch(Path jar, String... options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(options));
+        command.add("-Dsnake.startupProbe=" + System.currentTimeMillis());
+        command.add("-jar");
+        command.add(jar.toString());
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        Map<String, Long> times = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(" ");
+                if (fields.length == 4 && fields[0].equals("startup") && fields[3].equals("ms")) {
+                    times.put(fields[1], Long.parseLong(fields[2]));
+                }
+            }
+        }
+        if (process.waitFor() != 0) {
+            System.err.println("Game exited with status " + process.exitValue() + ": " + String.join(" ", command));
+        }
+        return times;
+    }
+
+    private static long percentile(List<Long> samples, int percent) {
+        Long[] sorted = samples.toArray(new Long[0]);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
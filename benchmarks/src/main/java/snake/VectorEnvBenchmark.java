@@ -0,0 +1,74 @@
+package snake;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Vectorized Environment Throughput: game steps per second for a batch of games on one thread
+// and on every core, with untrained random actions (so games are short and resets are part of
+// the cost). The gameSteps counter reports the rate directly next to the per-step time. Board is
+// "columns x rows" in tiles.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VectorEnvBenchmark {
+    @Param({ "1024", "16384" })
+    public int games;
+
+    @Param({ "16x16" })
+    public String board;
+
+    @Param({ "1", "0" }) // 0 for every available core
+    public int threads;
+
+    private ForkJoinPool pool;
+    private VectorEnv env;
+    private ByteBuffer[] actions;
+    private int next;
+
+    // Games Stepped, reported by JMH as a rate
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long gameSteps;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int columns = Integer.parseInt(board.substring(0, board.indexOf('x')));
+        int rows = Integer.parseInt(board.substring(board.indexOf('x') + 1));
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        env = new VectorEnv(columns, rows, games, 42, pool);
+        actions = VectorEnv.randomActions(games, 16, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long step(Counters counters) {
+        env.step(actions[next++ & 15]);
+        counters.gameSteps += games;
+        return env.getSteps();
+    }
+}
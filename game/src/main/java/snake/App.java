@@ -0,0 +1,30 @@
+package snake;
+
+import java.awt.GraphicsEnvironment;
+
+import javax.swing.*;
+
+public class App {
+    // Window Size in Pixels; larger boards scroll inside it
+    static final int BOARD_WIDTH = 600;
+    static final int BOARD_HEIGHT = BOARD_WIDTH;
+
+    public static void main(String[] args) throws Exception {
+        int boardWidth = BOARD_WIDTH;
+        int boardHeight = BOARD_HEIGHT;
+
+        // Without a display, only the startup probe can run the game, drawing off screen
+        if (GraphicsEnvironment.isHeadless() && StartupProbe.ENABLED) {
+            SwingUtilities.invokeLater(() -> SnakeGame.launchOffscreen(boardWidth, boardHeight));
+            return;
+        }
+
+        // Create the JFrame
+        JFrame frame = new JFrame("Snake");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setResizable(false);
+
+        // Show the game with its menu, loading the rest in the background
+        SwingUtilities.invokeLater(() -> SnakeGame.launch(frame, boardWidth, boardHeight));
+    }
+}
@@ -0,0 +1,352 @@
+package snake;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Arena of Thousands of Computer Snakes on One Board, laid out as structure of arrays: each
+// property is one array indexed by snake, and every body is a ring in one shared cell array, so a
+// tick streams through flat memory instead of chasing an object per snake or per segment.
+// Collisions between snakes go through one occupancy bitset of every body on the board.
+//
+// A tick runs in phases, each split over the snakes on a fork/join pool:
+//   decide  every snake picks its next cell from the board as it was, and claims that cell
+//   move    snakes whose cell was claimed twice die (head on), survivors move and grow on food
+//   settle  eaten food is replaced and dead snakes respawn, in snake order on one thread
+// Decisions use a hash of the seed, tick and snake instead of a shared random source, and the
+// move phase only sets and clears bits no other snake touches in that phase, so the result is
+// the same for any number of threads. A tail still counts as occupied on the tick it leaves.
+//
+// Usage: java snake.Arena [snakes] [columns] [rows] [ticks] [threads]
+public class Arena {
+    static final int RESPAWN_TICKS = 10;
+    private static final int LEAF_SNAKES = 1024; // Snakes handled by one task without splitting further
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Direction Codes, as in NetProtocol: up, down, left, right
+    private static final int[] DX = { 0, 0, -1, 1 };
+    private static final int[] DY = { -1, 1, 0, 0 };
+    private static final int[][] TURNS = { { 2, 3 }, { 3, 2 }, { 1, 0 }, { 0, 1 } }; // Left and right of each
+
+    private final int columns;
+    private final int rows;
+    private final int snakeCount;
+    private final int maxLength;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random; // Food and spawns, used only in the settle phase
+
+    // Snakes, one entry per array
+    private final int[] cells; // Body rings, maxLength cells per snake, head first
+    private final int[] bodyStart; // Ring index of the head
+    private final int[] bodyLength;
+    private final int[] growth; // Segments still to grow
+    private final int[] score;
+    private final int[] next; // Cell chosen by the decide phase, -1 for a forced crash
+    private final byte[] direction;
+    private final boolean[] alive;
+    private final boolean[] ate;
+    private final long[] respawnTick;
+
+    // Board
+    private final long[] occupied; // Every body cell, heads included
+    private final long[] foodBits;
+    private final long[] claims; // Per cell: tick << 1, with bit 0 set once a second snake claims it
+
+    private long tick;
+
+    // Constructor; every snake spawns at once with a length of one
+    public Arena(int columns, int rows, int snakes, int maxLength, int foodCount, long seed, ForkJoinPool pool) {
+        if (columns <= 0 || rows <= 0 || (long) columns * rows > Integer.MAX_VALUE || snakes < 1 || maxLength < 1
+                || foodCount < 1 || (long) snakes + foodCount > (long) columns * rows / 2) {
+            throw new IllegalArgumentException("Invalid arena " + columns + "x" + rows + " with " + snakes
+                    + " snakes and " + foodCount + " food");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.snakeCount = snakes;
+        this.maxLength = maxLength;
+        this.seed = seed;
+        this.pool = pool;
+        random = new SplittableRandom(seed);
+
+        cells = new int[Math.multiplyExact(snakes, maxLength)];
+        bodyStart = new int[snakes];
+        bodyLength = new int[snakes];
+        growth = new int[snakes];
+        score = new int[snakes];
+        next = new int[snakes];
+        direction = new byte[snakes];
+        alive = new boolean[snakes];
+        ate = new boolean[snakes];
+        respawnTick = new long[snakes];
+
+        int cellCount = columns * rows;
+        occupied = new long[(cellCount + 63) >>> 6];
+        foodBits = new long[(cellCount + 63) >>> 6];
+        claims = new long[cellCount];
+        for (int k = 0; k < foodCount; k++) {
+            placeFood();
+        }
+        for (int i = 0; i < snakes; i++) {
+            spawn(i);
+        }
+    }
+
+    // Advance Every Snake One Tick
+    public void step() {
+        tick++;
+        pool.invoke(new Phase(DECIDE, 0, snakeCount));
+        pool.invoke(new Phase(MOVE, 0, snakeCount));
+        settle();
+    }
+
+    private static final int DECIDE = 0;
+    private static final int MOVE = 1;
+
+    // Runs One Phase over Snakes [first, last), splitting in half until a leaf is small enough
+    private final class Phase extends RecursiveAction {
+        private final int phase;
+        private final int first;
+        private final int last;
+
+        Phase(int phase, int first, int last) {
+            this.phase = phase;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= LEAF_SNAKES) {
+                for (int i = first; i < last; i++) {
+                    if (phase == DECIDE) {
+                        decide(i);
+                    } else {
+                        move(i);
+                    }
+                }
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new Phase(phase, first, middle), new Phase(phase, middle, last));
+        }
+    }
+
+    // Pick the Next Cell: food next to the head, else straight on with an occasional turn, else
+    // any free side; claim it so head-on meetings are found in the move phase
+    private void decide(int i) {
+        if (!alive[i]) {
+            return;
+        }
+        int head = cells[i * maxLength + bodyStart[i]];
+        int x = head % columns;
+        int y = head / columns;
+        int straight = direction[i];
+        long hash = RandomCells.mix(seed ^ tick * RandomCells.GAMMA ^ i * 0xC2B2AE3D27D4EB4FL);
+        int[] sides = TURNS[straight];
+        int first = sides[(int) (hash & 1)];
+        int second = sides[(int) (hash & 1) ^ 1];
+        boolean wander = (hash >>> 1 & 15) == 0;
+
+        int chosen = -1;
+        int chosenCell = -1;
+        for (int pass = 0; pass < 2 && chosen < 0; pass++) { // First pass: food in reach; second: any free cell
+            for (int k = 0; k < 3; k++) {
+                int code = k == 1 ? (wander ? straight : first) : k == 0 ? (wander ? first : straight) : second;
+                int nx = x + DX[code];
+                int ny = y + DY[code];
+                if (nx < 0 || nx >= columns || ny < 0 || ny >= rows) {
+                    continue;
+                }
+                int cell = ny * columns + nx;
+                if (!isSet(occupied, cell) && (pass == 1 || isSet(foodBits, cell))) {
+                    chosen = code;
+                    chosenCell = cell;
+                    break;
+                }
+            }
+        }
+        if (chosen < 0) {
+            next[i] = -1; // Boxed in
+            return;
+        }
+        direction[i] = (byte) chosen;
+        next[i] = chosenCell;
+        long mark = tick << 1;
+        while (true) {
+            long claim = (long) LONGS.getVolatile(claims, chosenCell);
+            long update = (claim & ~1L) == mark ? mark | 1 : mark;
+            if (claim == update || LONGS.compareAndSet(claims, chosenCell, claim, update)) {
+                break;
+            }
+        }
+    }
+
+    // Move or Kill One Snake; only its own cells change in the occupancy bitset
+    private void move(int i) {
+        ate[i] = false;
+        if (!alive[i]) {
+            return;
+        }
+        int cell = next[i];
+        if (cell < 0 || (claims[cell] & 1) != 0) {
+            die(i);
+            return;
+        }
+        int base = i * maxLength;
+        if (isSet(foodBits, cell)) {
+            ate[i] = true;
+            growth[i]++;
+        }
+        if (growth[i] > 0 && bodyLength[i] < maxLength) {
+            growth[i]--;
+            bodyLength[i]++;
+        } else {
+            int tailIndex = bodyStart[i] + bodyLength[i] - 1;
+            int tail = cells[base + (tailIndex >= maxLength ? tailIndex - maxLength : tailIndex)];
+            LONGS.getAndBitwiseAnd(occupied, tail >>> 6, ~(1L << tail));
+        }
+        int start = bodyStart[i] == 0 ? maxLength - 1 : bodyStart[i] - 1; // May reuse the tail's slot
+        cells[base + start] = cell;
+        bodyStart[i] = start;
+        LONGS.getAndBitwiseOr(occupied, cell >>> 6, 1L << cell);
+    }
+
+    private void die(int i) {
+        int base = i * maxLength;
+        for (int k = 0; k < bodyLength[i]; k++) {
+            int index = bodyStart[i] + k;
+            int cell = cells[base + (index >= maxLength ? index - maxLength : index)];
+            LONGS.getAndBitwiseAnd(occupied, cell >>> 6, ~(1L << cell));
+        }
+        bodyLength[i] = 0;
+        growth[i] = 0;
+        score[i] = 0;
+        alive[i] = false;
+        respawnTick[i] = tick + RESPAWN_TICKS;
+    }
+
+    // Replace Eaten Food and Respawn the Dead, in snake order so the random draws are repeatable
+    private void settle() {
+        for (int i = 0; i < snakeCount; i++) {
+            if (ate[i]) {
+                score[i]++;
+                int cell = next[i];
+                foodBits[cell >>> 6] &= ~(1L << cell);
+                placeFood();
+            } else if (!alive[i] && respawnTick[i] <= tick) {
+                spawn(i);
+            }
+        }
+    }
+
+    private void spawn(int i) {
+        int cell = randomFreeCell();
+        if (cell == -1) {
+            return; // Try again next tick
+        }
+        cells[i * maxLength] = cell;
+        bodyStart[i] = 0;
+        bodyLength[i] = 1;
+        direction[i] = (byte) random.nextInt(4);
+        alive[i] = true;
+        occupied[cell >>> 6] |= 1L << cell;
+    }
+
+    // Put One Food on a Random Free Cell (lost if the board is too crowded to find one)
+    private void placeFood() {
+        int cell = randomFreeCell();
+        if (cell != -1) {
+            foodBits[cell >>> 6] |= 1L << cell;
+        }
+    }
+
+    // Random Cell Holding No Body or Food, -1 if none turned up
+    private int randomFreeCell() {
+        int cellCount = columns * rows;
+        for (int attempt = 0; attempt < RandomCells.MAX_SAMPLES; attempt++) {
+            int cell = random.nextInt(cellCount);
+            if (!isSet(occupied, cell) && !isSet(foodBits, cell)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // Fingerprint of Every Snake and Food, for comparing runs
+    public long checksum() {
+        long hash = tick;
+        for (int i = 0; i < snakeCount; i++) {
+            hash = hash * 31 + (alive[i] ? cells[i * maxLength + bodyStart[i]] : -1);
+            hash = hash * 31 + bodyLength[i];
+            hash = hash * 31 + score[i];
+        }
+        for (long word : foodBits) {
+            hash = hash * 31 + word;
+        }
+        return hash;
+    }
+
+    // Getters
+    public long getTick() {
+        return tick;
+    }
+
+    public int getSnakeCount() {
+        return snakeCount;
+    }
+
+    public int getAliveCount() {
+        int count = 0;
+        for (boolean living : alive) {
+            if (living) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getBestScore() {
+        int best = 0;
+        for (int value : score) {
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    public static void main(String[] args) {
+        int snakes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        int ticks = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%d snakes on %dx%d for %d ticks%n", snakes, columns, rows, ticks);
+        long[] checksums = new long[2];
+        int[] threadCounts = { 1, threads };
+        for (int run = 0; run < threadCounts.length; run++) {
+            ForkJoinPool pool = new ForkJoinPool(threadCounts[run]);
+            Arena arena = new Arena(columns, rows, snakes, 256, snakes / 4 + 1, 42, pool);
+            long snakeTicks = 0;
+            long start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                arena.step();
+                snakeTicks += snakes;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            checksums[run] = arena.checksum();
+            System.out.printf("%2d threads: %.2f s, %.1f M snake-ticks/s, %d alive, best score %d, checksum %016x%n",
+                    threadCounts[run], seconds, snakeTicks / seconds / 1e6, arena.getAliveCount(), arena.getBestScore(),
+                    checksums[run]);
+            pool.shutdown();
+        }
+        System.out.println(checksums[0] == checksums[1] ? "Both runs match." : "Runs DIFFER: the phases are not deterministic.");
+    }
+}
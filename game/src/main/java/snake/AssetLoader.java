@@ -0,0 +1,260 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+
+// Parallel Asset Loading: images (decoded with ImageIO and converted to display-compatible images),
+// music and sound effects are loaded on a worker pool, with byte-level progress reported as the
+// files are read. Missing or broken files fall back to placeholders so the game can still start.
+// The menu background is queued first and completes on its own, so the menu can be shown while
+// the rest is still loading.
+public class AssetLoader {
+    // Asset Paths
+    static final String MENU_BACKGROUND = "image/background.jpg";
+    static final String GAME_BACKGROUND = "image/game.jpg";
+    static final String MUSIC = "audio/gameplay.wav";
+    static final String EAT_SOUND = "audio/eat.wav.wav";
+    private static final int ASSET_COUNT = 5; // Four files plus opening the audio output
+
+    // Progress Callback, called from worker threads
+    public interface ProgressListener {
+        void onProgress(long loadedBytes, long totalBytes, int loadedAssets, int totalAssets);
+    }
+
+    // Loaded Assets Handed to the Game
+    public static final class Assets {
+        Image mainMenuBackground;
+        Image gameBackground;
+        Clip backgroundMusic; // null if missing
+        SoundMixer soundMixer;
+        SoundMixer.Sound eatSoundEffect; // null if missing
+    }
+
+    // Assets Being Loaded: the menu background, then everything (menu background included)
+    public static final class Loading {
+        final CompletableFuture<Image> menuBackground;
+        final CompletableFuture<Assets> assets;
+
+        Loading(CompletableFuture<Image> menuBackground, CompletableFuture<Assets> assets) {
+            this.menuBackground = menuBackground;
+            this.assets = assets;
+        }
+
+        // Already Loaded Assets
+        static Loading of(Assets assets) {
+            return new Loading(CompletableFuture.completedFuture(assets.mainMenuBackground), CompletableFuture.completedFuture(assets));
+        }
+    }
+
+    private final int boardWidth;
+    private final int boardHeight;
+    private final ProgressListener listener;
+    private final AtomicLong loadedBytes = new AtomicLong();
+    private final AtomicInteger loadedAssets = new AtomicInteger();
+    private long totalBytes;
+
+    // Constructor
+    public AssetLoader(int boardWidth, int boardHeight, ProgressListener listener) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.listener = listener;
+    }
+
+    // Start Loading Everything in Parallel; the future completes once all assets are ready
+    public CompletableFuture<Assets> load() {
+        return start().assets;
+    }
+
+    // Start Loading Everything in Parallel, the menu background first
+    public Loading start() {
+        totalBytes = new File(MENU_BACKGROUND).length() + new File(GAME_BACKGROUND).length()
+                + new File(MUSIC).length() + new File(EAT_SOUND).length();
+        int threads = Math.max(1, Math.min(ASSET_COUNT, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Asset Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<Image> menu = CompletableFuture.supplyAsync(() -> loadImage(MENU_BACKGROUND), pool);
+        CompletableFuture<Image> game = CompletableFuture.supplyAsync(() -> loadImage(GAME_BACKGROUND), pool);
+        CompletableFuture<Clip> music = CompletableFuture.supplyAsync(() -> loadMusic(MUSIC), pool);
+        CompletableFuture<SoundMixer.Sound> eat = CompletableFuture.supplyAsync(() -> loadSoundEffect(EAT_SOUND), pool);
+        CompletableFuture<SoundMixer> mixer = CompletableFuture.supplyAsync(this::startMixer, pool);
+
+        return new Loading(menu, CompletableFuture.allOf(menu, game, music, eat, mixer).thenApply(done -> {
+            pool.shutdown();
+            Assets assets = new Assets();
+            assets.mainMenuBackground = menu.join();
+            assets.gameBackground = game.join();
+            assets.backgroundMusic = music.join();
+            assets.eatSoundEffect = eat.join();
+            assets.soundMixer = mixer.join();
+            return assets;
+        }));
+    }
+
+    // Load Image with Enhanced Error Handling
+    private Image loadImage(String filePath) {
+        CountingInputStream in = null;
+        try {
+            in = open(filePath);
+            BufferedImage decoded = ImageIO.read(in);
+            if (decoded == null) {
+                throw new IOException("Unsupported image format: " + filePath);
+            }
+            return toCompatibleImage(decoded);
+        } catch (Exception e) {
+            System.err.println("Error loading image: " + filePath);
+            e.printStackTrace();
+            return placeholderImage(); // Load a default placeholder image
+        } finally {
+            finished(filePath, in);
+        }
+    }
+
+    // Copy a Decoded Image into the Screen's Native Pixel Layout so drawing it needs no conversion
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return image;
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        if (image.getColorModel().equals(config.getColorModel())) {
+            return image;
+        }
+        BufferedImage compatible = config.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        Graphics2D g2d = compatible.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return compatible;
+    }
+
+    // Placeholder Shown When an Image Cannot Be Loaded
+    private Image placeholderImage() {
+        BufferedImage img = new BufferedImage(boardWidth, boardHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = img.createGraphics();
+        g2d.setColor(Color.pink);
+        g2d.fillRect(0, 0, boardWidth, boardHeight);
+        g2d.setColor(Color.black);
+        g2d.drawString("Image Not Found", boardWidth / 2 - 50, boardHeight / 2);
+        g2d.dispose();
+        return img;
+    }
+
+    // Load Music with Enhanced Error Handling
+    private Clip loadMusic(String filePath) {
+        CountingInputStream in = null;
+        try {
+            in = open(filePath);
+            Clip clip = AudioSystem.getClip();
+            clip.open(AudioSystem.getAudioInputStream(new BufferedInputStream(in)));
+            return clip;
+        } catch (Exception e) {
+            System.err.println("Error loading music: " + filePath);
+            e.printStackTrace();
+            return null; // Handle missing music gracefully
+        } finally {
+            finished(filePath, in);
+        }
+    }
+
+    // Load Sound Effect into Memory with Enhanced Error Handling
+    private SoundMixer.Sound loadSoundEffect(String filePath) {
+        CountingInputStream in = null;
+        try {
+            in = open(filePath);
+            return SoundMixer.decode(AudioSystem.getAudioInputStream(new BufferedInputStream(in)), 1f);
+        } catch (Exception e) {
+            System.err.println("Error loading sound effect: " + filePath);
+            e.printStackTrace();
+            return null; // Handle missing sound effect gracefully
+        } finally {
+            finished(filePath, in);
+        }
+    }
+
+    // Open the Audio Output (line buffer size can be tuned with -Dsnake.audioBufferFrames)
+    private SoundMixer startMixer() {
+        SoundMixer mixer = new SoundMixer(Integer.getInteger("snake.audioBufferFrames", SoundMixer.DEFAULT_BUFFER_FRAMES));
+        mixer.start();
+        finished(null, null);
+        return mixer;
+    }
+
+    // Open a File Whose Reads Are Counted Towards Progress
+    private CountingInputStream open(String filePath) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new FileNotFoundException("File not found: " + filePath);
+        }
+        return new CountingInputStream(new FileInputStream(file));
+    }
+
+    // Count an Asset as Done, crediting any bytes its decoder skipped or never read
+    private void finished(String filePath, CountingInputStream in) {
+        long unread = 0;
+        if (filePath != null) {
+            unread = Math.max(0, new File(filePath).length() - (in != null ? in.count : 0));
+        }
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        int assets = loadedAssets.incrementAndGet();
+        listener.onProgress(loadedBytes.addAndGet(unread), totalBytes, assets, ASSET_COUNT);
+    }
+
+    // File Stream That Reports Every Byte Read
+    private final class CountingInputStream extends FilterInputStream {
+        long count; // Bytes read or skipped so far
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                advance(skipped);
+            }
+            return skipped;
+        }
+
+        private void advance(long bytes) {
+            count += bytes;
+            listener.onProgress(loadedBytes.addAndGet(bytes), totalBytes, loadedAssets.get(), ASSET_COUNT);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package snake;
+
+import java.util.Random;
+
+// Computer Player: an A* search to the nearer food that knows when each body segment will have
+// moved away (the segment i places behind the neck frees up score - i ticks from now), accepted
+// only if the snake could still reach its own tail afterwards. When no safe path exists it
+// follows a Hamiltonian cycle through the board, and as a last resort takes the move with the
+// most reachable space. All working arrays are allocated once for the board size, and marks use
+// a stamp per search instead of being cleared, so a decision allocates nothing.
+public class Autopilot {
+    private static final Direction[] MOVES = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+    static final int MAX_CELLS = 1 << 20; // About 60 bytes of working arrays per cell
+
+    private final int columns;
+    private final int rows;
+
+    // Neighbor of Every Cell in Each of MOVES (cell * 4 + move), or -1 off the board
+    private final int[] neighbors;
+
+    // Coordinates of Every Cell
+    private final int[] cellX;
+    private final int[] cellY;
+
+    // Search State, one entry per board cell (the A* deque holds up to one entry per edge)
+    private final int[] queue;
+    private final int[] deque;
+    private final int[] closed; // Cell is expanded in the current search if closed[cell] == searchStamp
+    private final int[] distance;
+    private final byte[] firstMove; // Index into MOVES of the first step on the path to each cell
+    private final int[] visited; // Cell is reached in the current search if visited[cell] == searchStamp
+    private final int[] vacateTime; // Ticks until a body cell is free, valid if vacateStamp[cell] == decisionStamp
+    private final int[] vacateStamp;
+    private int searchStamp;
+    private int decisionStamp;
+    private int pathLength; // Length of the path the last search found
+
+    // Constructor
+    public Autopilot(int columns, int rows) {
+        if ((long) columns * rows > MAX_CELLS) {
+            throw new IllegalArgumentException("Board too large for the autopilot: " + columns + "x" + rows);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        int cells = columns * rows;
+        queue = new int[cells];
+        deque = new int[cells * MOVES.length + 1];
+        closed = new int[cells];
+        cellX = new int[cells];
+        cellY = new int[cells];
+        distance = new int[cells];
+        firstMove = new byte[cells];
+        visited = new int[cells];
+        vacateTime = new int[cells];
+        vacateStamp = new int[cells];
+        neighbors = new int[cells * MOVES.length];
+        for (int cell = 0; cell < cells; cell++) {
+            cellX[cell] = cell % columns;
+            cellY[cell] = cell / columns;
+            for (int m = 0; m < MOVES.length; m++) {
+                int x = cell % columns + MOVES[m].dx;
+                int y = cell / columns + MOVES[m].dy;
+                neighbors[cell * MOVES.length + m] = x < 0 || x >= columns || y < 0 || y >= rows ? -1 : y * columns + x;
+            }
+        }
+    }
+
+    // Choose the Input for the Engine's Next Step
+    public Direction decide(SnakeEngine engine) {
+        markBody(engine);
+        int head = engine.getHeadY() * columns + engine.getHeadX();
+        int room = engine.getBodyLength() + 1;
+
+        // Shortest Path to the Nearest Food, if the Snake Keeps Room to Move after Its First Step
+        int move = searchFood(engine, head);
+        if (move >= 0 && reachable(step(head, MOVES[move]), room) >= room) {
+            return turn(engine, MOVES[move]);
+        }
+
+        // Otherwise Follow the Cycle, if Its Next Step Is Safe
+        if (rows % 2 == 0 && columns > 1) {
+            Direction cycle = cycleDirection(engine.getHeadX(), engine.getHeadY(), columns, rows);
+            if (!isReverse(engine, cycle)) {
+                int next = step(head, cycle);
+                if (next >= 0 && isPassable(next, 1) && reachable(next, room) >= room) {
+                    return turn(engine, cycle);
+                }
+            }
+        }
+
+        // Last Resort: the Move with the Most Space Behind It
+        Direction best = Direction.NONE;
+        int bestSpace = -1;
+        for (Direction direction : MOVES) {
+            int next = step(head, direction);
+            if (next < 0 || isReverse(engine, direction) || !isPassable(next, 1)) {
+                continue;
+            }
+            int space = reachable(next, room);
+            if (space > bestSpace) {
+                bestSpace = space;
+                best = direction;
+            }
+        }
+        return turn(engine, best);
+    }
+
+    // Record When Each Body Cell Frees Up; the head becomes the neck and frees one tick after the rest
+    private void markBody(SnakeEngine engine) {
+        decisionStamp++;
+        int score = engine.getScore();
+        int length = engine.getBodyLength();
+        for (int i = 0; i < length; i++) {
+            int cell = engine.getBodyCell(i);
+            vacateTime[cell] = score - i;
+            vacateStamp[cell] = decisionStamp;
+        }
+        int head = engine.getHeadY() * columns + engine.getHeadX();
+        vacateTime[head] = score + 1;
+        vacateStamp[head] = decisionStamp;
+    }
+
+    // Can the Head Be on This Cell the Given Number of Ticks from Now
+    private boolean isPassable(int cell, int ticks) {
+        return vacateStamp[cell] != decisionStamp || ticks >= vacateTime[cell];
+    }
+
+    // Shortest Path from the Head to Either Food; returns the index of the first move or -1.
+    // Each food gets its own search, so each search has a single target for its estimate.
+    private int searchFood(SnakeEngine engine, int head) {
+        int food = engine.hasFood() ? engine.getFoodY() * columns + engine.getFoodX() : -1;
+        int special = engine.hasSpecialFood() ? engine.getSpecialFoodY() * columns + engine.getSpecialFoodX() : -1;
+        int move = food >= 0 ? search(engine, head, food) : -1;
+        int length = pathLength;
+        if (special >= 0) {
+            int specialMove = search(engine, head, special);
+            if (specialMove >= 0 && (move < 0 || pathLength < length)) {
+                return specialMove;
+            }
+        }
+        return move;
+    }
+
+    // A* Search from the Head to One Target; returns the index of the first move or -1, and
+    // leaves the path's length in pathLength. Every step changes the Manhattan distance to the
+    // target by one, so a cell's estimate either stays the same (a step towards the target,
+    // pushed to the front of the deque) or grows by two (pushed to the back), and the deque stays
+    // ordered without a heap.
+    private int search(SnakeEngine engine, int head, int target) {
+        searchStamp++;
+        int capacity = deque.length;
+        int front = 0;
+        int back = 0;
+        visited[head] = searchStamp;
+        distance[head] = 0;
+        deque[back++] = head;
+        while (front != back) {
+            int cell = deque[front];
+            front = front + 1 == capacity ? 0 : front + 1;
+            if (closed[cell] == searchStamp) {
+                continue; // Already expanded through a shorter path
+            }
+            closed[cell] = searchStamp;
+            if (cell == target) {
+                pathLength = distance[cell];
+                return firstMove[cell];
+            }
+            int ticks = distance[cell] + 1;
+            int estimate = estimate(cell, target);
+            for (int m = 0; m < MOVES.length; m++) {
+                int next = neighbors[cell * MOVES.length + m];
+                if (next < 0 || closed[next] == searchStamp || !isPassable(next, ticks)) {
+                    continue;
+                }
+                if (visited[next] == searchStamp && distance[next] <= ticks) {
+                    continue;
+                }
+                if (cell == head && isReverse(engine, MOVES[m])) {
+                    continue;
+                }
+                visited[next] = searchStamp;
+                distance[next] = ticks;
+                firstMove[next] = cell == head ? (byte) m : firstMove[cell];
+                if (estimate(next, target) < estimate) {
+                    front = front == 0 ? capacity - 1 : front - 1;
+                    deque[front] = next;
+                } else {
+                    deque[back] = next;
+                    back = back + 1 == capacity ? 0 : back + 1;
+                }
+            }
+        }
+        pathLength = -1;
+        return -1;
+    }
+
+    // Manhattan Distance to the Target
+    private int estimate(int cell, int target) {
+        return Math.abs(cellX[cell] - cellX[target]) + Math.abs(cellY[cell] - cellY[target]);
+    }
+
+    // Number of Cells Reachable from a Cell Entered Next Tick, counting up to limit. Reaching a
+    // body cell once it has freed up means the snake can keep chasing its own tail from there,
+    // which is as safe as having limit cells of room, so the search stops early.
+    private int reachable(int start, int limit) {
+        if (start < 0 || !isPassable(start, 1)) {
+            return 0;
+        }
+        searchStamp++;
+        int read = 0;
+        int write = 0;
+        visited[start] = searchStamp;
+        distance[start] = 1;
+        queue[write++] = start;
+        while (read < write && write < limit) {
+            int cell = queue[read++];
+            int ticks = distance[cell] + 1;
+            for (int m = 0; m < MOVES.length; m++) {
+                int next = neighbors[cell * MOVES.length + m];
+                if (next < 0 || visited[next] == searchStamp || !isPassable(next, ticks)) {
+                    continue;
+                }
+                if (vacateStamp[next] == decisionStamp) {
+                    return limit; // Tail reachable
+                }
+                visited[next] = searchStamp;
+                distance[next] = ticks;
+                queue[write++] = next;
+            }
+        }
+        return write;
+    }
+
+    // Direction Along a Cycle through every tile: right across row 0, zig-zag down
+    // through columns 1.., then back up column 0 (requires an even number of rows)
+    static Direction cycleDirection(int x, int y, int columns, int rows) {
+        if (y == 0) {
+            return x < columns - 1 ? Direction.RIGHT : Direction.DOWN;
+        }
+        if (x == 0) {
+            return Direction.UP;
+        }
+        if (y % 2 == 1) {
+            if (x > 1) return Direction.LEFT;
+            return y == rows - 1 ? Direction.LEFT : Direction.DOWN;
+        }
+        return x < columns - 1 ? Direction.RIGHT : Direction.DOWN;
+    }
+
+    // Neighboring Cell in a Direction, or -1 off the board
+    private int step(int cell, Direction direction) {
+        return neighbors[cell * MOVES.length + direction.ordinal() - Direction.UP.ordinal()];
+    }
+
+    private static boolean isReverse(SnakeEngine engine, Direction direction) {
+        return direction.dx == -engine.getVelocityX() && direction.dy == -engine.getVelocityY();
+    }
+
+    // Input That Keeps or Changes the Heading (NONE when already moving that way)
+    private static Direction turn(SnakeEngine engine, Direction direction) {
+        if (direction.dx == engine.getVelocityX() && direction.dy == engine.getVelocityY()) {
+            return Direction.NONE;
+        }
+        return direction;
+    }
+
+    // Play Games Headless and Report Decision Speed and Game Length: java Autopilot [columns] [rows] [games]
+    public static void main(String[] args) {
+        int columns = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long stallTicks = 2L * columns * rows; // A game that goes this long without eating is stopped
+
+        SnakeEngine engine = new SnakeEngine(columns, rows, new Random());
+        Autopilot autopilot = new Autopilot(columns, rows);
+        Random seeds = new Random(1);
+        long decisions = 0;
+        long decisionNanos = 0;
+        long maxDecisionNanos = 0;
+        long totalTicks = 0;
+        long totalScore = 0;
+        int filled = 0;
+        int stalled = 0;
+        for (int game = 0; game < games; game++) {
+            engine.reset(seeds.nextLong());
+            long lastMeal = 0;
+            int lastScore = 0;
+            while (!engine.isGameOver() && engine.hasFood() && engine.getTick() - lastMeal < stallTicks) {
+                long start = System.nanoTime();
+                Direction input = autopilot.decide(engine);
+                long nanos = System.nanoTime() - start;
+                decisionNanos += nanos;
+                if (nanos > maxDecisionNanos && game > 0) { // The first game warms up the JIT
+                    maxDecisionNanos = nanos;
+                }
+                decisions++;
+                engine.step(input);
+                if (engine.getScore() != lastScore) {
+                    lastScore = engine.getScore();
+                    lastMeal = engine.getTick();
+                }
+            }
+            if (!engine.isGameOver()) {
+                if (engine.hasFood()) {
+                    stalled++;
+                } else {
+                    filled++; // No free tile left for food
+                }
+            }
+            totalTicks += engine.getTick();
+            totalScore += engine.getScore();
+        }
+        System.out.printf("%dx%d board, %d games: %.0f decisions/s (avg %.2f us, max %.1f us), "
+                        + "avg game %.0f ticks, avg score %.1f, %d filled the board, %d stalled%n",
+                columns, rows, games, decisions / (decisionNanos / 1e9), decisionNanos / 1e3 / decisions,
+                maxDecisionNanos / 1e3, (double) totalTicks / games, (double) totalScore / games, filled, stalled);
+    }
+}
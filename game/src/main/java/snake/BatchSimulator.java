@@ -0,0 +1,274 @@
+package snake;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Batch Simulator for Balancing: plays many headless games on a fork/join pool and reports the
+// distribution of scores, survival ticks and special food per Difficulty. Every game gets its own
+// SplittableRandom split off in a fixed order, so results do not depend on the thread count, and
+// workers share nothing but their final statistics, so throughput scales with the cores.
+//
+// Difficulty only changes the tick rate, so bots model it as reaction time: with the reaction
+// time spanning n ticks at a difficulty's speed, a policy gets to act on each tick with
+// probability 1 / n and keeps going straight in between.
+//
+// Usage: java BatchSimulator [games] [special chance, e.g. 2/10] [special bonus] [greedy|autopilot]
+//                            [reaction ms] [threads] [columns] [rows]
+public class BatchSimulator {
+    private static final int LEAF_GAMES = 256; // Games played by one task without splitting further
+
+    // Move Policy, one instance per worker task
+    interface Policy {
+        Direction decide(SnakeEngine engine);
+    }
+
+    // Settings Shared by All Games
+    static final class Settings {
+        int columns = 24;
+        int rows = 24;
+        int specialFoodChance = 2;
+        int specialFoodChanceScale = 10;
+        int specialFoodBonus = 5;
+        boolean autopilot = false;
+        int reactionMillis = 200;
+    }
+
+    // Distribution of Results for One Difficulty; merged up the task tree
+    static final class Stats {
+        long games;
+        long[] scores = new long[64]; // Histogram by score
+        long[] ticks = new long[64]; // Histogram by survival ticks / TICK_BUCKET
+        long totalScore;
+        long totalTicks;
+        long specialSpawned;
+        long specialEaten;
+        long stalled; // Games stopped for going too long without eating
+        static final int TICK_BUCKET = 10;
+
+        void add(int score, long survived, int spawned, int eaten, boolean stall) {
+            games++;
+            totalScore += score;
+            totalTicks += survived;
+            specialSpawned += spawned;
+            specialEaten += eaten;
+            if (stall) {
+                stalled++;
+            }
+            scores = count(scores, Math.max(0, score));
+            ticks = count(ticks, (int) Math.min(Integer.MAX_VALUE - 8, survived / TICK_BUCKET));
+        }
+
+        private static long[] count(long[] histogram, int value) {
+            if (value >= histogram.length) {
+                long[] grown = new long[Math.max(value + 1, histogram.length * 2)];
+                System.arraycopy(histogram, 0, grown, 0, histogram.length);
+                histogram = grown;
+            }
+            histogram[value]++;
+            return histogram;
+        }
+
+        void merge(Stats other) {
+            games += other.games;
+            totalScore += other.totalScore;
+            totalTicks += other.totalTicks;
+            specialSpawned += other.specialSpawned;
+            specialEaten += other.specialEaten;
+            stalled += other.stalled;
+            scores = mergeHistogram(scores, other.scores);
+            ticks = mergeHistogram(ticks, other.ticks);
+        }
+
+        private static long[] mergeHistogram(long[] into, long[] from) {
+            if (from.length > into.length) {
+                long[] grown = new long[from.length];
+                System.arraycopy(into, 0, grown, 0, into.length);
+                into = grown;
+            }
+            for (int i = 0; i < from.length; i++) {
+                into[i] += from[i];
+            }
+            return into;
+        }
+
+        // Smallest Value at or above the Given Fraction of Games
+        static long percentile(long[] histogram, long games, double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(fraction * games));
+            long seen = 0;
+            for (int value = 0; value < histogram.length; value++) {
+                seen += histogram[value];
+                if (seen >= rank) {
+                    return value;
+                }
+            }
+            return histogram.length - 1;
+        }
+    }
+
+    // Plays Games [first, last) of One Difficulty, splitting in half until a leaf is small enough
+    static final class Batch extends RecursiveTask<Stats> {
+        private final Settings settings;
+        private final SnakeGame.Difficulty difficulty;
+        private final long first;
+        private final long last;
+        private final SplittableRandom random;
+
+        Batch(Settings settings, SnakeGame.Difficulty difficulty, long first, long last, SplittableRandom random) {
+            this.settings = settings;
+            this.difficulty = difficulty;
+            this.first = first;
+            this.last = last;
+            this.random = random;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (last - first <= LEAF_GAMES) {
+                return play();
+            }
+            long middle = (first + last) >>> 1;
+            Batch left = new Batch(settings, difficulty, first, middle, random.split());
+            Batch right = new Batch(settings, difficulty, middle, last, random);
+            left.fork();
+            Stats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+
+        private Stats play() {
+            Stats stats = new Stats();
+            SnakeEngine engine = new SnakeEngine(settings.columns, settings.rows, random);
+            engine.setSpecialFoodChance(settings.specialFoodChance, settings.specialFoodChanceScale);
+            engine.setSpecialFoodBonus(settings.specialFoodBonus);
+            Policy policy = settings.autopilot ? new Autopilot(settings.columns, settings.rows)::decide : new GreedyPolicy();
+            int reactionTicks = Math.max(1, (settings.reactionMillis + difficulty.speed - 1) / difficulty.speed);
+            long stallTicks = 2L * settings.columns * settings.rows;
+
+            for (long game = first; game < last; game++) {
+                SplittableRandom gameRandom = random.split(); // One generator per game
+                engine.reset(gameRandom);
+                SplittableRandom reactions = gameRandom.split();
+                int spawned = 0;
+                int eaten = 0;
+                long lastMeal = 0;
+                boolean stall = false;
+                while (!engine.isGameOver()) {
+                    boolean reacts = reactionTicks == 1 || reactions.nextInt(reactionTicks) == 0;
+                    Direction input = reacts ? policy.decide(engine) : Direction.NONE;
+                    int events = engine.step(input);
+                    if ((events & SnakeEngine.SPECIAL_FOOD_SPAWNED) != 0) {
+                        spawned++;
+                    }
+                    if ((events & SnakeEngine.ATE_SPECIAL_FOOD) != 0) {
+                        eaten++;
+                    }
+                    if ((events & (SnakeEngine.ATE_FOOD | SnakeEngine.ATE_SPECIAL_FOOD)) != 0) {
+                        lastMeal = engine.getTick();
+                    } else if (engine.getTick() - lastMeal > stallTicks || !engine.hasFood()) {
+                        stall = engine.hasFood(); // A full board ends the game without a stall
+                        break;
+                    }
+                }
+                stats.add(engine.getScore(), engine.getTick(), spawned, eaten, stall);
+            }
+            return stats;
+        }
+    }
+
+    // Scripted Player: heads for the nearer food, never reverses, and avoids walls and the body
+    // on the next tile only, so a decision costs a handful of comparisons
+    static final class GreedyPolicy implements Policy {
+        private static final Direction[] MOVES = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+        @Override
+        public Direction decide(SnakeEngine engine) {
+            int x = engine.getHeadX();
+            int y = engine.getHeadY();
+            int targetX = engine.getFoodX();
+            int targetY = engine.getFoodY();
+            if (engine.hasSpecialFood() && (!engine.hasFood() || distance(x, y, engine.getSpecialFoodX(), engine.getSpecialFoodY())
+                    < distance(x, y, targetX, targetY))) {
+                targetX = engine.getSpecialFoodX();
+                targetY = engine.getSpecialFoodY();
+            }
+            Direction best = Direction.NONE;
+            int bestDistance = Integer.MAX_VALUE;
+            for (Direction direction : MOVES) {
+                if (direction.dx == -engine.getVelocityX() && direction.dy == -engine.getVelocityY()) {
+                    continue; // The engine ignores reversing
+                }
+                int nextX = x + direction.dx;
+                int nextY = y + direction.dy;
+                if (nextX < 0 || nextX >= engine.getColumns() || nextY < 0 || nextY >= engine.getRows()
+                        || engine.isBody(nextX, nextY)) {
+                    continue;
+                }
+                int d = distance(nextX, nextY, targetX, targetY);
+                if (d < bestDistance) {
+                    bestDistance = d;
+                    best = direction;
+                }
+            }
+            if (best.dx == engine.getVelocityX() && best.dy == engine.getVelocityY()) {
+                return Direction.NONE; // Already heading that way
+            }
+            return best;
+        }
+
+        private static int distance(int x, int y, int targetX, int targetY) {
+            return Math.abs(x - targetX) + Math.abs(y - targetY);
+        }
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0].replace("_", "")) : 1_000_000L;
+        Settings settings = new Settings();
+        if (args.length > 1) {
+            String[] chance = args[1].split("/");
+            settings.specialFoodChance = Integer.parseInt(chance[0]);
+            if (chance.length > 1) {
+                settings.specialFoodChanceScale = Integer.parseInt(chance[1]); // Otherwise the game's own scale, tenths
+            }
+        }
+        if (args.length > 2) {
+            settings.specialFoodBonus = Integer.parseInt(args[2]);
+        }
+        if (args.length > 3) {
+            settings.autopilot = args[3].equals("autopilot");
+        }
+        if (args.length > 4) {
+            settings.reactionMillis = Integer.parseInt(args[4]);
+        }
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        if (args.length > 7) {
+            settings.columns = Integer.parseInt(args[6]);
+            settings.rows = Integer.parseInt(args[7]);
+        }
+
+        System.out.printf("%d games per difficulty on %dx%d, special food %d/%d per tick worth %d, %s policy, "
+                        + "%d ms reaction, %d threads%n", games, settings.columns, settings.rows,
+                settings.specialFoodChance, settings.specialFoodChanceScale, settings.specialFoodBonus,
+                settings.autopilot ? "autopilot" : "greedy", settings.reactionMillis, threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        SplittableRandom root = new SplittableRandom(42);
+        long totalTicks = 0;
+        long start = System.nanoTime();
+        for (SnakeGame.Difficulty difficulty : SnakeGame.Difficulty.values()) {
+            Stats stats = pool.invoke(new Batch(settings, difficulty, 0, games, root.split()));
+            totalTicks += stats.totalTicks;
+            System.out.printf("%-6s score mean %6.1f p50 %4d p90 %4d p99 %4d | ticks mean %7.0f p50 %6d p90 %6d | "
+                            + "special spawned %5.2f eaten %5.2f per game | stalled %d%n",
+                    difficulty, (double) stats.totalScore / stats.games,
+                    Stats.percentile(stats.scores, stats.games, 0.5), Stats.percentile(stats.scores, stats.games, 0.9),
+                    Stats.percentile(stats.scores, stats.games, 0.99), (double) stats.totalTicks / stats.games,
+                    Stats.percentile(stats.ticks, stats.games, 0.5) * Stats.TICK_BUCKET,
+                    Stats.percentile(stats.ticks, stats.games, 0.9) * Stats.TICK_BUCKET,
+                    (double) stats.specialSpawned / stats.games, (double) stats.specialEaten / stats.games, stats.stalled);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games in %.2f s: %.0f games/s, %.1f M ticks/s%n", games * SnakeGame.Difficulty.values().length,
+                seconds, games * SnakeGame.Difficulty.values().length / seconds, totalTicks / seconds / 1e6);
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,14 @@
+package snake;
+
+// Enum for Snake Movement Directions with corresponding velocities
+public enum Direction {
+    NONE(0, 0), UP(0, -1), DOWN(0, 1), LEFT(-1, 0), RIGHT(1, 0);
+
+    final int dx;
+    final int dy;
+
+    Direction(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+}
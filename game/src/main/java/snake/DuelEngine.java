@@ -0,0 +1,371 @@
+package snake;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+// Two-Player Snake Rules for Rollback Netplay, with the whole game state (both snakes, food,
+// special food, scores and the random generator) held in one int array. Saving a state is one
+// System.arraycopy into a preallocated array of stateSize() ints and restoring it is one copy
+// back, so a peer can snapshot every frame and rewind several frames per frame without
+// allocating. Nothing outside the array affects a step, so the same inputs from the same state
+// produce the same state on every machine; java.util.Random is not used since its state cannot
+// be copied out.
+//
+// The rules are SnakeEngine's, played by two snakes on one board: a turn may not reverse the
+// snake, the body keeps score segments, hitting a wall or any body kills, and so does meeting
+// the other head on (both die). A dead snake loses its points and comes back after
+// RESPAWN_FRAMES at a random free tile. The game runs in frames at the display rate; the snakes
+// move every framesPerMove frames, and the latest turn pressed since the previous move applies.
+//
+// State layout: the header (frame, random state, food, special food, then SNAKE_FIELDS per
+// snake), one occupancy entry per cell (0, or 1 + the player whose body covers it), then each
+// snake's body as a ring of cells, neck first.
+public class DuelEngine {
+    static final int PLAYERS = 2;
+    static final int RESPAWN_FRAMES = 60;
+    static final int SPECIAL_FOOD_CHANCE = 2; // Out of 10 per move without special food, as in SnakeEngine
+    static final int SPECIAL_FOOD_BONUS = 5;
+
+    // Header Fields
+    private static final int FRAME = 0;
+    private static final int RANDOM_HIGH = 1;
+    private static final int RANDOM_LOW = 2;
+    private static final int FOOD = 3;
+    private static final int SPECIAL_FOOD = 4;
+    private static final int SNAKES = 5;
+
+    // Fields per Snake, from SNAKES + player * SNAKE_FIELDS
+    private static final int HEAD = 0; // Cell, -1 while dead
+    private static final int DIRECTION = 1; // Direction ordinal of the last move
+    private static final int TURN = 2; // Direction ordinal to take at the next move, 0 for none
+    private static final int BODY_START = 3;
+    private static final int BODY_LENGTH = 4;
+    private static final int SCORE = 5;
+    private static final int RESPAWN_FRAME = 6;
+    private static final int DEATHS = 7;
+    private static final int SNAKE_FIELDS = 8;
+    private static final int HEADER = SNAKES + PLAYERS * SNAKE_FIELDS;
+
+    // Step Result Flags per player, shifted left by PLAYER_SHIFT * player
+    public static final int ATE_FOOD = 1;
+    public static final int ATE_SPECIAL_FOOD = 1 << 1;
+    public static final int DIED = 1 << 2;
+    public static final int SPAWNED = 1 << 3;
+    static final int PLAYER_SHIFT = 4;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int columns;
+    private final int rows;
+    private final int cells;
+    private final int framesPerMove;
+    private final int occupancy; // Offset of the occupancy entries
+    private final int[] state;
+    private final IntUnaryOperator randomInt = this::nextInt;
+    private final IntPredicate isFree = this::isFree;
+    private final int[] nextHead = new int[PLAYERS]; // Scratch for one move
+
+    // Constructor
+    public DuelEngine(int columns, int rows, int framesPerMove, long seed) {
+        if (columns < 8 || rows < 3 || (long) columns * rows > (Integer.MAX_VALUE - HEADER) / 4) {
+            throw new IllegalArgumentException("Invalid board size " + columns + "x" + rows);
+        }
+        if (framesPerMove < 1) {
+            throw new IllegalArgumentException("Invalid frames per move " + framesPerMove);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.framesPerMove = framesPerMove;
+        cells = columns * rows;
+        occupancy = HEADER;
+        state = new int[HEADER + cells + PLAYERS * cells];
+        reset(seed);
+    }
+
+    // Start Over: the snakes face each other from the left and right quarters of the middle row
+    public void reset(long seed) {
+        Arrays.fill(state, 0);
+        setRandom(seed);
+        for (int player = 0; player < PLAYERS; player++) {
+            int snake = SNAKES + player * SNAKE_FIELDS;
+            int x = player == 0 ? columns / 4 : columns - 1 - columns / 4;
+            state[snake + HEAD] = (rows / 2) * columns + x;
+            state[snake + DIRECTION] = (player == 0 ? Direction.RIGHT : Direction.LEFT).ordinal();
+        }
+        state[FOOD] = -1;
+        state[SPECIAL_FOOD] = -1;
+        state[FOOD] = randomFreeCell();
+    }
+
+    // Ints in a Snapshot of the State
+    public int stateSize() {
+        return state.length;
+    }
+
+    // Copy the State into a Snapshot of stateSize() Ints
+    public void save(int[] snapshot) {
+        System.arraycopy(state, 0, snapshot, 0, state.length);
+    }
+
+    // Continue from a Saved State
+    public void restore(int[] snapshot) {
+        System.arraycopy(snapshot, 0, state, 0, state.length);
+    }
+
+    // Pack Both Players' Inputs for step()
+    static int inputs(Direction player0, Direction player1) {
+        return player0.ordinal() | player1.ordinal() << 3;
+    }
+
+    // Advance One Frame with Both Players' Inputs (from inputs()); returns the players' flags
+    public int step(int inputs) {
+        for (int player = 0; player < PLAYERS; player++) {
+            int snake = SNAKES + player * SNAKE_FIELDS;
+            int input = inputs >>> (3 * player) & 7;
+            if (input != 0 && state[snake + HEAD] != -1 && turns(state[snake + DIRECTION], input)) {
+                state[snake + TURN] = input;
+            }
+        }
+        int frame = ++state[FRAME];
+        int events = 0;
+        if (frame % framesPerMove == 0) {
+            events = move();
+        }
+        for (int player = 0; player < PLAYERS; player++) {
+            int snake = SNAKES + player * SNAKE_FIELDS;
+            if (state[snake + HEAD] == -1 && frame >= state[snake + RESPAWN_FRAME]) {
+                events |= respawn(snake) << PLAYER_SHIFT * player;
+            }
+        }
+        return events;
+    }
+
+    // A Direction Turns, rather than keeps or reverses, a snake moving the other way
+    private static boolean turns(int moving, int input) {
+        return DIRECTIONS[moving].dx == 0 ? DIRECTIONS[input].dx != 0 : DIRECTIONS[input].dy != 0;
+    }
+
+    // Move Both Snakes at Once: steer, move the bodies, then resolve deaths and food
+    private int move() {
+        int events = 0;
+        for (int player = 0; player < PLAYERS; player++) {
+            int snake = SNAKES + player * SNAKE_FIELDS;
+            int head = state[snake + HEAD];
+            if (head == -1) {
+                nextHead[player] = -1;
+                continue;
+            }
+            if (state[snake + TURN] != 0) {
+                state[snake + DIRECTION] = state[snake + TURN];
+                state[snake + TURN] = 0;
+            }
+            Direction direction = DIRECTIONS[state[snake + DIRECTION]];
+            int x = head % columns + direction.dx;
+            int y = head / columns + direction.dy;
+            pushNeck(player, head); // Old head becomes the neck
+            if (state[snake + BODY_LENGTH] > state[snake + SCORE]) {
+                popTail(player);
+            }
+            nextHead[player] = x >= 0 && x < columns && y >= 0 && y < rows ? y * columns + x : -2; // -2: off the board
+        }
+
+        // Deaths, decided for both before either body is cleared
+        for (int player = 0; player < PLAYERS; player++) {
+            int head = nextHead[player];
+            if (head == -1) {
+                continue;
+            }
+            int other = nextHead[1 - player];
+            if (head == -2 || state[occupancy + head] != 0 || head == other) {
+                events |= DIED << PLAYER_SHIFT * player;
+            }
+        }
+        for (int player = 0; player < PLAYERS; player++) {
+            int snake = SNAKES + player * SNAKE_FIELDS;
+            if (nextHead[player] == -1) {
+                continue;
+            }
+            if ((events & DIED << PLAYER_SHIFT * player) != 0) {
+                kill(player);
+            } else {
+                state[snake + HEAD] = nextHead[player];
+            }
+        }
+
+        // Food, for the snakes still alive
+        for (int player = 0; player < PLAYERS; player++) {
+            int snake = SNAKES + player * SNAKE_FIELDS;
+            int head = state[snake + HEAD];
+            if (head == -1) {
+                continue;
+            }
+            if (head == state[FOOD]) {
+                state[snake + SCORE]++;
+                state[FOOD] = -1; // The head now covers the eaten food's cell
+                state[FOOD] = randomFreeCell();
+                events |= ATE_FOOD << PLAYER_SHIFT * player;
+            }
+            if (head == state[SPECIAL_FOOD]) {
+                state[snake + SCORE] += SPECIAL_FOOD_BONUS;
+                state[SPECIAL_FOOD] = -1;
+                events |= ATE_SPECIAL_FOOD << PLAYER_SHIFT * player;
+            }
+        }
+        if (state[SPECIAL_FOOD] == -1 && nextInt(10) < SPECIAL_FOOD_CHANCE) {
+            state[SPECIAL_FOOD] = randomFreeCell();
+        }
+        return events;
+    }
+
+    // Body Ring of One Player: the neck at the start, the tail at start + length - 1
+    private int ring(int player) {
+        return occupancy + cells + player * cells;
+    }
+
+    private void pushNeck(int player, int cell) {
+        int snake = SNAKES + player * SNAKE_FIELDS;
+        int start = state[snake + BODY_START] - 1;
+        if (start < 0) {
+            start += cells;
+        }
+        state[ring(player) + start] = cell;
+        state[snake + BODY_START] = start;
+        state[snake + BODY_LENGTH]++;
+        state[occupancy + cell] = 1 + player;
+    }
+
+    private void popTail(int player) {
+        int snake = SNAKES + player * SNAKE_FIELDS;
+        int length = --state[snake + BODY_LENGTH];
+        int index = state[snake + BODY_START] + length;
+        int tail = state[ring(player) + (index >= cells ? index - cells : index)];
+        state[occupancy + tail] = 0;
+    }
+
+    // Clear a Dead Snake from the Board; it comes back after RESPAWN_FRAMES with no points
+    private void kill(int player) {
+        int snake = SNAKES + player * SNAKE_FIELDS;
+        while (state[snake + BODY_LENGTH] > 0) {
+            popTail(player);
+        }
+        state[snake + HEAD] = -1;
+        state[snake + TURN] = 0;
+        state[snake + SCORE] = 0;
+        state[snake + RESPAWN_FRAME] = state[FRAME] + RESPAWN_FRAMES;
+        state[snake + DEATHS]++;
+    }
+
+    // Put a Dead Snake Back at a Random Free Tile, heading toward the middle
+    private int respawn(int snake) {
+        int cell = randomFreeCell();
+        if (cell == -1) {
+            return 0; // Try again next frame
+        }
+        state[snake + HEAD] = cell;
+        state[snake + DIRECTION] = (cell % columns < columns / 2 ? Direction.RIGHT : Direction.LEFT).ordinal();
+        state[snake + BODY_START] = 0;
+        return SPAWNED;
+    }
+
+    // Uniformly Random Cell Not Covered by a Body, Head or Food, or -1 if there is none
+    private int randomFreeCell() {
+        return RandomCells.randomFreeCell(cells, randomInt, isFree);
+    }
+
+    private boolean isFree(int cell) {
+        return state[occupancy + cell] == 0 && cell != state[FOOD] && cell != state[SPECIAL_FOOD]
+                && cell != state[SNAKES + HEAD] && cell != state[SNAKES + SNAKE_FIELDS + HEAD];
+    }
+
+    // Random Generator: SplitMix64, its 64-bit state kept in two header ints
+    private void setRandom(long seed) {
+        state[RANDOM_HIGH] = (int) (seed >>> 32);
+        state[RANDOM_LOW] = (int) seed;
+    }
+
+    // Random Number from 0 to bound - 1
+    private int nextInt(int bound) {
+        long seed = ((long) state[RANDOM_HIGH] << 32 | state[RANDOM_LOW] & 0xFFFFFFFFL) + RandomCells.GAMMA;
+        setRandom(seed);
+        return RandomCells.nextInt(seed, bound);
+    }
+
+    // Fingerprint of the Game: the header and both bodies, for peers comparing their states
+    public long checksum() {
+        long hash = 0;
+        for (int i = 0; i < HEADER; i++) {
+            hash = hash * 31 + state[i];
+        }
+        for (int player = 0; player < PLAYERS; player++) {
+            int length = getBodyLength(player);
+            for (int i = 0; i < length; i++) {
+                hash = hash * 31 + getBodyCell(player, i);
+            }
+        }
+        return hash;
+    }
+
+    // Getters
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getFrame() {
+        return state[FRAME];
+    }
+
+    public int getFramesPerMove() {
+        return framesPerMove;
+    }
+
+    // Progress from the Last Move toward the Next, from 0 to 1, for drawing between moves
+    public float getMoveProgress() {
+        return (float) (state[FRAME] % framesPerMove) / framesPerMove;
+    }
+
+    public boolean isAlive(int player) {
+        return state[SNAKES + player * SNAKE_FIELDS + HEAD] != -1;
+    }
+
+    // Head Cell, -1 while dead
+    public int getHead(int player) {
+        return state[SNAKES + player * SNAKE_FIELDS + HEAD];
+    }
+
+    public Direction getDirection(int player) {
+        return DIRECTIONS[state[SNAKES + player * SNAKE_FIELDS + DIRECTION]];
+    }
+
+    public int getBodyLength(int player) {
+        return state[SNAKES + player * SNAKE_FIELDS + BODY_LENGTH];
+    }
+
+    // Body Segment as a Packed Cell, indexed from the neck (0) to the tail
+    public int getBodyCell(int player, int index) {
+        int i = state[SNAKES + player * SNAKE_FIELDS + BODY_START] + index;
+        return state[ring(player) + (i >= cells ? i - cells : i)];
+    }
+
+    public int getScore(int player) {
+        return state[SNAKES + player * SNAKE_FIELDS + SCORE];
+    }
+
+    public int getDeaths(int player) {
+        return state[SNAKES + player * SNAKE_FIELDS + DEATHS];
+    }
+
+    // Food Cell, -1 for none
+    public int getFood() {
+        return state[FOOD];
+    }
+
+    // Special Food Cell, -1 for none
+    public int getSpecialFood() {
+        return state[SPECIAL_FOOD];
+    }
+}
@@ -0,0 +1,203 @@
+package snake;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.*;
+
+// Head-to-Head Snake over UDP with Rollback Netcode: each player runs this with the other's
+// address, and both play the same DuelEngine game, each seeing their own turns at once. The
+// frame thread plays one frame of the DuelPeer at FRAME_RATE with the last arrow key pressed,
+// and the window repaints the predicted game after each. Latency, jitter and loss can be added
+// to what this side sends, to try the netcode on one machine or a LAN.
+// Run with: java snake.DuelGame player localPort remoteHost remotePort [latency ms] [jitter ms] [loss %] [seed]
+// where player is 0 or 1, and both sides give the same seed.
+public class DuelGame extends JPanel implements KeyListener {
+    static final int TILE_SIZE = SnakeGame.TILE_SIZE;
+    static final int COLUMNS = 32;
+    static final int ROWS = 24;
+    private static final Color[] COLORS = { Color.green, Color.cyan };
+
+    private final DuelPeer peer; // Locked by the frame thread and painting
+    private final DuelEngine engine;
+    private final int player;
+    private final AtomicReference<Direction> pendingInput = new AtomicReference<>(Direction.NONE);
+    private volatile boolean stalled;
+    private volatile boolean failed;
+
+    // Constructor; starts playing at once, and waits for the other player by stalling
+    public DuelGame(DuelPeer peer) {
+        this.peer = peer;
+        this.engine = peer.getSession().getEngine();
+        this.player = peer.getSession().getLocalPlayer();
+        setPreferredSize(new Dimension(engine.getColumns() * TILE_SIZE, engine.getRows() * TILE_SIZE));
+        setBackground(Color.black);
+        setFocusable(true);
+        addKeyListener(this);
+
+        ScheduledExecutorService frames = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Duel Frames");
+            thread.setDaemon(true);
+            return thread;
+        });
+        frames.scheduleAtFixedRate(this::frame, 0, 1_000_000_000L / DuelLoopback.FRAME_RATE, TimeUnit.NANOSECONDS);
+        frames.scheduleAtFixedRate(this::pump, 0, 1, TimeUnit.MILLISECONDS);
+    }
+
+    // Play One Frame with the Last Key Pressed (frame thread)
+    private void frame() {
+        try {
+            synchronized (peer) {
+                Direction input = pendingInput.getAndSet(Direction.NONE);
+                stalled = !peer.frame(input);
+                if (stalled) {
+                    pendingInput.compareAndSet(Direction.NONE, input); // Keep it for the frame that runs
+                }
+            }
+            repaint();
+        } catch (IOException e) {
+            if (!failed) {
+                System.err.println("Error talking to the other player.");
+                e.printStackTrace();
+            }
+            failed = true;
+        }
+    }
+
+    // Send Held Datagrams as They Fall Due (frame thread)
+    private void pump() {
+        try {
+            synchronized (peer) {
+                peer.pump();
+            }
+        } catch (IOException e) {
+            failed = true;
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        synchronized (peer) {
+            drawGrid(g);
+            g.setColor(Color.red);
+            drawCell(g, engine.getFood());
+            g.setColor(Color.orange);
+            drawCell(g, engine.getSpecialFood());
+            for (int p = 0; p < DuelEngine.PLAYERS; p++) {
+                if (!engine.isAlive(p)) {
+                    continue;
+                }
+                g.setColor(COLORS[p].brighter());
+                drawCell(g, engine.getHead(p));
+                g.setColor(COLORS[p]);
+                for (int i = 0; i < engine.getBodyLength(p); i++) {
+                    drawCell(g, engine.getBodyCell(p, i));
+                }
+            }
+            drawHud(g);
+        }
+    }
+
+    private void drawGrid(Graphics g) {
+        g.setColor(Color.darkGray);
+        for (int x = 0; x <= engine.getColumns() * TILE_SIZE; x += TILE_SIZE) {
+            g.drawLine(x, 0, x, engine.getRows() * TILE_SIZE);
+        }
+        for (int y = 0; y <= engine.getRows() * TILE_SIZE; y += TILE_SIZE) {
+            g.drawLine(0, y, engine.getColumns() * TILE_SIZE, y);
+        }
+    }
+
+    // Fill One Tile (-1, no cell, is skipped)
+    private void drawCell(Graphics g, int cell) {
+        if (cell >= 0) {
+            g.fill3DRect(cell % engine.getColumns() * TILE_SIZE, cell / engine.getColumns() * TILE_SIZE, TILE_SIZE, TILE_SIZE, true);
+        }
+    }
+
+    private void drawHud(Graphics g) {
+        RollbackSession session = peer.getSession();
+        g.setFont(SnakeGame.HUD_FONT);
+        g.setColor(COLORS[player]);
+        g.drawString("You: " + engine.getScore(player) + (engine.isAlive(player) ? "" : "  (respawning)"), 10, 20);
+        g.setColor(COLORS[1 - player]);
+        g.drawString("Them: " + engine.getScore(1 - player), 10, 40);
+        g.setColor(Color.white);
+        String net = "Rollbacks " + session.getRollbacks() + ", longest " + session.getMaxRollback() + " frames";
+        g.drawString(net, getWidth() - g.getFontMetrics().stringWidth(net) - 10, 20);
+        if (failed || stalled) {
+            g.setFont(SnakeGame.MENU_FONT);
+            String message = failed ? "Connection error" : "Waiting for the other player...";
+            g.drawString(message, (getWidth() - g.getFontMetrics().stringWidth(message)) / 2, getHeight() / 2);
+        }
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_UP:
+                pendingInput.set(Direction.UP);
+                break;
+            case KeyEvent.VK_DOWN:
+                pendingInput.set(Direction.DOWN);
+                break;
+            case KeyEvent.VK_LEFT:
+                pendingInput.set(Direction.LEFT);
+                break;
+            case KeyEvent.VK_RIGHT:
+                pendingInput.set(Direction.RIGHT);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: java snake.DuelGame player localPort remoteHost remotePort [latency ms] [jitter ms] [loss %] [seed]");
+            System.exit(2);
+        }
+        int player = Integer.parseInt(args[0]);
+        int localPort = Integer.parseInt(args[1]);
+        InetSocketAddress remote = new InetSocketAddress(args[2], Integer.parseInt(args[3]));
+        long latencyNanos = (args.length > 4 ? Long.parseLong(args[4]) : 0) * 1_000_000L;
+        long jitterNanos = (args.length > 5 ? Long.parseLong(args[5]) : 0) * 1_000_000L;
+        double loss = (args.length > 6 ? Double.parseDouble(args[6]) : 0) / 100;
+        long seed = args.length > 7 ? Long.parseLong(args[7]) : 1;
+
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Snake Duel - Player " + player);
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setResizable(false);
+            try {
+                RollbackSession session = new RollbackSession(new DuelEngine(COLUMNS, ROWS, DuelLoopback.FRAMES_PER_MOVE, seed), player);
+                DuelPeer peer = new DuelPeer(session, new InetSocketAddress(localPort), remote,
+                        new LinkSimulator(latencyNanos, jitterNanos, loss, System.nanoTime()));
+                DuelGame game = new DuelGame(peer);
+                frame.add(game);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                game.requestFocus();
+            } catch (IOException e) {
+                System.err.println("Could not open UDP port " + localPort + ".");
+                e.printStackTrace();
+                System.exit(1);
+            }
+        });
+    }
+}
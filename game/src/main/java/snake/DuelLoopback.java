@@ -0,0 +1,172 @@
+package snake;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Rollback Duel against Yourself: two peers in this process play each other over loopback UDP,
+// each through a LinkSimulator with the given one-way latency, jitter and loss, with a bot
+// steering each snake. At the end it reports each peer's rollbacks and stalls, how many final
+// frames the peers compared checksums for (and any desync), and the cost of one snapshot save
+// and restore.
+//
+//   java -cp snake.jar snake.DuelLoopback [seconds] [latency ms] [jitter ms] [loss %] [columns] [rows]
+public class DuelLoopback {
+    static final int FRAME_RATE = 60;
+    static final int FRAMES_PER_MOVE = 6; // Ten moves a second
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        long latencyNanos = (args.length > 1 ? Long.parseLong(args[1]) : 50) * 1_000_000L;
+        long jitterNanos = (args.length > 2 ? Long.parseLong(args[2]) : 10) * 1_000_000L;
+        double loss = (args.length > 3 ? Double.parseDouble(args[3]) : 2) / 100;
+        int columns = args.length > 4 ? Integer.parseInt(args[4]) : 40;
+        int rows = args.length > 5 ? Integer.parseInt(args[5]) : 30;
+
+        long seed = System.nanoTime();
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        InetSocketAddress first = new InetSocketAddress(loopback, freePort());
+        InetSocketAddress second = new InetSocketAddress(loopback, freePort());
+        DuelPeer[] peers = new DuelPeer[DuelEngine.PLAYERS];
+        peers[0] = new DuelPeer(new RollbackSession(new DuelEngine(columns, rows, FRAMES_PER_MOVE, seed), 0), first, second,
+                new LinkSimulator(latencyNanos, jitterNanos, loss, seed + 1));
+        peers[1] = new DuelPeer(new RollbackSession(new DuelEngine(columns, rows, FRAMES_PER_MOVE, seed), 1), second, first,
+                new LinkSimulator(latencyNanos, jitterNanos, loss, seed + 2));
+        SplittableRandom[] bots = { new SplittableRandom(seed + 3), new SplittableRandom(seed + 4) };
+        System.out.printf("Duel on %dx%d over loopback, %s each way, for %d s%n", columns, rows, peers[0].getLink(), seconds);
+
+        // Frames at FRAME_RATE, with held datagrams sent as they fall due in between
+        long frameNanos = 1_000_000_000L / FRAME_RATE;
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long nextFrame = start;
+        while (nextFrame < end) {
+            long now = System.nanoTime();
+            if (now - nextFrame >= 0) {
+                for (int player = 0; player < DuelEngine.PLAYERS; player++) {
+                    RollbackSession session = peers[player].getSession();
+                    peers[player].frame(bot(session.getEngine(), player, bots[player]));
+                }
+                nextFrame += frameNanos;
+            } else {
+                for (DuelPeer peer : peers) {
+                    peer.pump();
+                }
+                LockSupport.parkNanos(Math.min(nextFrame - now, 1_000_000L));
+            }
+        }
+
+        // Let the last inputs arrive, then compare the latest frame final on both peers
+        long settle = System.nanoTime() + 2 * (latencyNanos + jitterNanos) + 100_000_000L;
+        while (System.nanoTime() < settle) {
+            for (DuelPeer peer : peers) {
+                peer.pump();
+            }
+            LockSupport.parkNanos(1_000_000L);
+        }
+        for (DuelPeer peer : peers) {
+            peer.frame(Direction.NONE);
+        }
+        for (int player = 0; player < DuelEngine.PLAYERS; player++) {
+            report(peers[player], player);
+        }
+        int common = Math.min(peers[0].getSession().getFinalFrame(), peers[1].getSession().getFinalFrame());
+        boolean same = peers[0].getSession().getChecksum(common) == peers[1].getSession().getChecksum(common);
+        System.out.printf("Final frame %d: checksums %s%n", common, same ? "match" : "DIFFER");
+        DuelEngine engine = peers[0].getSession().getEngine();
+        System.out.printf("Score %d : %d, deaths %d : %d%n", engine.getScore(0), engine.getScore(1), engine.getDeaths(0), engine.getDeaths(1));
+        measureSnapshots(engine);
+        for (DuelPeer peer : peers) {
+            peer.close();
+        }
+        if (!same || peers[0].getSession().getDesyncs() + peers[1].getSession().getDesyncs() > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void report(DuelPeer peer, int player) {
+        RollbackSession session = peer.getSession();
+        long rollbacks = session.getRollbacks();
+        System.out.printf("Player %d: %d frames, %d stalls, %d rollbacks (%.1f frames on average, %d at most, %.1f us on average, %.1f us at most)%n",
+                player, session.getFrame(), session.getStalls(), rollbacks,
+                rollbacks == 0 ? 0.0 : (double) session.getResimulatedFrames() / rollbacks, session.getMaxRollback(),
+                rollbacks == 0 ? 0.0 : session.getRollbackNanos() / 1e3 / rollbacks, session.getMaxRollbackNanos() / 1e3);
+        System.out.printf("          %d checksums compared, %d desyncs; %d datagrams sent, %d lost, %d received%n",
+                session.getChecks(), session.getDesyncs(), peer.getLink().getSent(), peer.getLink().getDropped(), peer.getReceived());
+    }
+
+    // Time Saving and Restoring the Whole State, warmed up first
+    private static void measureSnapshots(DuelEngine engine) {
+        int[] snapshot = new int[engine.stateSize()];
+        int rounds = 200_000;
+        long nanos = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                engine.save(snapshot);
+                engine.restore(snapshot);
+            }
+            nanos = System.nanoTime() - start;
+        }
+        System.out.printf("Snapshot: %d ints, save and restore %.0f ns%n", engine.stateSize(), (double) nanos / rounds);
+    }
+
+    // Steer a Snake like a Casual Player: toward the food, now and then a random turn, and away
+    // from anything just ahead
+    static Direction bot(DuelEngine engine, int player, SplittableRandom random) {
+        if (!engine.isAlive(player)) {
+            return Direction.NONE;
+        }
+        Direction moving = engine.getDirection(player);
+        if (random.nextInt(30) == 0) {
+            return Direction.values()[1 + random.nextInt(4)];
+        }
+        int food = engine.getFood();
+        if (food != -1 && random.nextInt(4) == 0) {
+            int head = engine.getHead(player);
+            int dx = food % engine.getColumns() - head % engine.getColumns();
+            int dy = food / engine.getColumns() - head / engine.getColumns();
+            Direction toward = moving.dx == 0
+                    ? (dx > 0 ? Direction.RIGHT : dx < 0 ? Direction.LEFT : Direction.NONE)
+                    : (dy > 0 ? Direction.DOWN : dy < 0 ? Direction.UP : Direction.NONE);
+            if (toward != Direction.NONE && isSafe(engine, player, toward)) {
+                return toward;
+            }
+        }
+        if (isSafe(engine, player, moving)) {
+            return Direction.NONE;
+        }
+        Direction[] turns = moving.dx == 0 ? new Direction[] {Direction.LEFT, Direction.RIGHT} : new Direction[] {Direction.UP, Direction.DOWN};
+        int pick = random.nextInt(2);
+        return isSafe(engine, player, turns[pick]) ? turns[pick] : turns[1 - pick];
+    }
+
+    private static boolean isSafe(DuelEngine engine, int player, Direction direction) {
+        int head = engine.getHead(player);
+        int x = head % engine.getColumns() + direction.dx;
+        int y = head / engine.getColumns() + direction.dy;
+        if (x < 0 || x >= engine.getColumns() || y < 0 || y >= engine.getRows()) {
+            return false;
+        }
+        int cell = y * engine.getColumns() + x;
+        for (int other = 0; other < DuelEngine.PLAYERS; other++) {
+            for (int i = 0; i < engine.getBodyLength(other); i++) {
+                if (engine.getBodyCell(other, i) == cell) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Port Free at the Moment, for binding both peers before either connects
+    private static int freePort() throws IOException {
+        try (DatagramChannel probe = DatagramChannel.open()) {
+            probe.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            return ((InetSocketAddress) probe.getLocalAddress()).getPort();
+        }
+    }
+}
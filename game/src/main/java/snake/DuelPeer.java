@@ -0,0 +1,152 @@
+package snake;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+// One Side of a Rollback Duel over UDP. Each frame it reads every datagram that has arrived,
+// advances its RollbackSession with the local input, and sends one datagram with all of its
+// inputs the other peer has not acknowledged yet, so a lost or reordered datagram is made up
+// for by the next one and nothing is ever resent on a timer. Datagrams go out through a
+// LinkSimulator, a direct one unless latency, jitter or loss is being simulated.
+//
+// Datagram (big-endian):
+//   u8 INPUTS, i32 first frame, u8 count, count x u8 direction ordinal (frames first onward),
+//   i32 ack (last frame whose input the sender has from us, and every earlier one),
+//   i32 check frame (-1 for none), i64 checksum of the sender's state after that frame
+public class DuelPeer implements Closeable {
+    static final byte INPUTS = 1;
+    private static final int HEADER_BYTES = 1 + 4 + 1;
+    private static final int TRAILER_BYTES = 4 + 4 + 8;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final RollbackSession session;
+    private final DatagramChannel channel;
+    private final LinkSimulator link;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(LinkSimulator.MAX_DATAGRAM);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(LinkSimulator.MAX_DATAGRAM);
+    private int acked = -1; // Last frame the other peer has our input for, and every earlier one
+    private int lastCheckSent = -1;
+
+    // Statistics
+    private long received;
+    private long malformed;
+
+    // Constructor: bind the local address and send to the remote one
+    public DuelPeer(RollbackSession session, InetSocketAddress local, InetSocketAddress remote, LinkSimulator link) throws IOException {
+        this.session = session;
+        this.link = link;
+        channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.bind(local);
+            channel.connect(remote);
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Play One Frame; returns false if the session stalled waiting for the other peer
+    public boolean frame(Direction input) throws IOException {
+        receive();
+        boolean advanced = session.advance(input);
+        send();
+        return advanced;
+    }
+
+    // Read Every Datagram that Has Arrived and hand its inputs and checksum to the session
+    private void receive() throws IOException {
+        while (true) {
+            in.clear();
+            int bytes;
+            try {
+                bytes = channel.read(in);
+            } catch (PortUnreachableException e) {
+                continue; // Our earlier datagram found no peer listening yet
+            }
+            if (bytes <= 0) {
+                return;
+            }
+            in.flip();
+            if (bytes < HEADER_BYTES + TRAILER_BYTES || in.get() != INPUTS) {
+                malformed++;
+                continue;
+            }
+            int first = in.getInt();
+            int count = in.get() & 0xFF;
+            if (in.remaining() != count + TRAILER_BYTES) {
+                malformed++;
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                int ordinal = in.get();
+                if (ordinal >= 0 && ordinal < DIRECTIONS.length) {
+                    session.receive(first + i, DIRECTIONS[ordinal]);
+                }
+            }
+            acked = Math.max(acked, in.getInt());
+            int checkFrame = in.getInt();
+            long checksum = in.getLong();
+            if (checkFrame >= 0) {
+                session.receiveChecksum(checkFrame, checksum);
+            }
+            received++;
+        }
+    }
+
+    // Send the Inputs the Other Peer Lacks, the latest final checksum, and our acknowledgement
+    private void send() throws IOException {
+        int end = session.getFrame(); // Frames before it have local inputs
+        int first = Math.max(acked + 1, end - RollbackSession.HISTORY);
+        int count = Math.max(0, Math.min(end - first, LinkSimulator.MAX_DATAGRAM - HEADER_BYTES - TRAILER_BYTES));
+        out.clear();
+        out.put(INPUTS).putInt(first).put((byte) count);
+        for (int i = 0; i < count; i++) {
+            out.put((byte) session.getLocalInput(first + i).ordinal());
+        }
+        out.putInt(session.getConfirmedFrame());
+        int finalFrame = session.getFinalFrame();
+        if (finalFrame >= 0 && finalFrame != lastCheckSent) {
+            out.putInt(finalFrame).putLong(session.getChecksum(finalFrame));
+            lastCheckSent = finalFrame;
+        } else {
+            out.putInt(-1).putLong(0);
+        }
+        out.flip();
+        long now = System.nanoTime();
+        link.send(channel, out, now);
+        link.pump(channel, now);
+    }
+
+    // Send Any Held Datagrams that Are Due, between frames
+    public void pump() throws IOException {
+        link.pump(channel, System.nanoTime());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Getters
+    public RollbackSession getSession() {
+        return session;
+    }
+
+    public LinkSimulator getLink() {
+        return link;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getMalformed() {
+        return malformed;
+    }
+}
@@ -0,0 +1,70 @@
+package snake;
+
+import java.util.random.RandomGenerator;
+
+// Index of Free Board Cells: free cells are kept packed at the front of an array, and each cell
+// remembers its slot so taking or releasing one is a single swap with the last free cell.
+// Picking a uniformly random free cell is O(1) no matter how full the board is.
+public class FreeCells {
+    private final int[] cells; // Free cells in [0, count), taken cells after
+    private final int[] slots; // Position of every cell inside cells
+    private int count;
+
+    // Constructor
+    public FreeCells(int capacity) {
+        cells = new int[capacity];
+        slots = new int[capacity];
+        reset();
+    }
+
+    // Mark Every Cell as Free
+    public void reset() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+            slots[i] = i;
+        }
+        count = cells.length;
+    }
+
+    // Mark a Cell as Taken (no-op if it already is)
+    public void take(int cell) {
+        int slot = slots[cell];
+        if (slot >= count) {
+            return;
+        }
+        count--;
+        swap(slot, count);
+    }
+
+    // Mark a Cell as Free (no-op if it already is)
+    public void release(int cell) {
+        int slot = slots[cell];
+        if (slot < count) {
+            return;
+        }
+        swap(slot, count);
+        count++;
+    }
+
+    public boolean isFree(int cell) {
+        return slots[cell] < count;
+    }
+
+    // Uniformly Random Free Cell, or -1 if the board is full
+    public int random(RandomGenerator random) {
+        return count == 0 ? -1 : cells[random.nextInt(count)];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private void swap(int a, int b) {
+        int cellA = cells[a];
+        int cellB = cells[b];
+        cells[a] = cellB;
+        cells[b] = cellA;
+        slots[cellB] = a;
+        slots[cellA] = b;
+    }
+}
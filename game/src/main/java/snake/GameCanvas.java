@@ -0,0 +1,63 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+// Heavyweight Surface for Active Rendering: frames are drawn into the back buffer of a two-page
+// BufferStrategy and shown by flipping pages (or one blit where the platform cannot flip), so a
+// frame skips the repaint manager, Swing's own back buffer and the copy from it. Frames are
+// rendered on the EDT when the game asks for one, keeping all drawing state on one thread, and
+// paint requests from the window system are turned into such a request.
+public class GameCanvas extends Canvas {
+    private final SnakeGame game;
+    private BufferStrategy strategy;
+
+    // Constructor
+    public GameCanvas(SnakeGame game, int width, int height) {
+        this.game = game;
+        setPreferredSize(new Dimension(width, height));
+        setFocusable(true);
+        addKeyListener(game);
+    }
+
+    // Draw and Show One Frame; returns false until the canvas is on screen (EDT only)
+    public boolean render() {
+        if (!isDisplayable() || getWidth() == 0) {
+            return false;
+        }
+        if (strategy == null) {
+            createBufferStrategy(2);
+            strategy = getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    game.paintFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored()); // Redraw into a buffer lost and restored meanwhile
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // Send the frame to the display now on buffered window systems
+        return true;
+    }
+
+    // Window System Paint Requests (the canvas was shown or uncovered) become a game frame
+    @Override
+    public void paint(Graphics g) {
+        game.requestFrame();
+    }
+
+    @Override
+    public void update(Graphics g) {
+        game.requestFrame(); // No clearing first
+    }
+
+    @Override
+    public void removeNotify() {
+        strategy = null; // Disposed with the peer
+        super.removeNotify();
+    }
+}
@@ -0,0 +1,38 @@
+package snake;
+
+// Something that Happened in a Game, published on a GameEventBus
+public class GameEvent {
+    public enum Type {
+        FOOD_EATEN, // score is the score after eating
+        DIED, // score and ticks are final; record and replay are set for games to be kept
+        HIGH_SCORE // name and score of a new entry on the leaderboard
+    }
+
+    final Type type;
+    final int score;
+    final long ticks;
+    final GameRecord record; // Entry for the session history, null for computer games and replays
+    final Replay replay; // Recording of the finished game, null when it was itself a replay
+    final String name;
+
+    private GameEvent(Type type, int score, long ticks, GameRecord record, Replay replay, String name) {
+        this.type = type;
+        this.score = score;
+        this.ticks = ticks;
+        this.record = record;
+        this.replay = replay;
+        this.name = name;
+    }
+
+    static GameEvent foodEaten(int score) {
+        return new GameEvent(Type.FOOD_EATEN, score, 0, null, null, null);
+    }
+
+    static GameEvent died(int score, long ticks, GameRecord record, Replay replay) {
+        return new GameEvent(Type.DIED, score, ticks, record, replay, null);
+    }
+
+    static GameEvent highScore(String name, int score) {
+        return new GameEvent(Type.HIGH_SCORE, score, 0, null, null, name);
+    }
+}
@@ -0,0 +1,53 @@
+package snake;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+// Game Event Bus: the game publishes what happened (food eaten, the snake died, a new high score)
+// and carries on, and every subscriber handles the event on the executor it subscribed with: the
+// UI on the EDT, persistence on its own I/O thread, audio wherever its hand-off cannot block. A
+// slow subscriber therefore never holds up the tick that produced an event or the frames after
+// it. Publishing only hands the event to each subscriber's executor, so it must be given
+// executors that queue rather than block; it is safe from any thread, and one subscriber sees
+// events in the order they were published as long as its executor runs tasks in order.
+public class GameEventBus {
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Handle Events of One Type on an Executor
+    public void subscribe(GameEvent.Type type, Executor executor, Consumer<GameEvent> handler) {
+        subscriptions.add(new Subscription(type, executor, handler));
+    }
+
+    // Hand an Event to Every Subscriber of Its Type
+    public void publish(GameEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.type == event.type) {
+                subscription.executor.execute(() -> subscription.deliver(event));
+            }
+        }
+    }
+
+    private static final class Subscription {
+        final GameEvent.Type type;
+        final Executor executor;
+        final Consumer<GameEvent> handler;
+
+        Subscription(GameEvent.Type type, Executor executor, Consumer<GameEvent> handler) {
+            this.type = type;
+            this.executor = executor;
+            this.handler = handler;
+        }
+
+        // One failing handler must not take the executor's thread or other subscribers with it
+        void deliver(GameEvent event) {
+            try {
+                handler.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Error handling game event " + event.type + ".");
+                e.printStackTrace();
+            }
+        }
+    }
+}
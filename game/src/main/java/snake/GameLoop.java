@@ -0,0 +1,165 @@
+package snake;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Fixed-Timestep Game Loop: runs the simulation on its own thread at an exact tick rate measured
+// with System.nanoTime(), and requests frames at a separate render rate. Ticks that fall behind
+// schedule are caught up back to back (up to MAX_CATCH_UP) so the average rate is honored, and are
+// counted as late when they start more than a quarter of a tick after their scheduled time.
+// Each tick's duration and start-to-start interval are reported to an optional PerfMonitor.
+public class GameLoop implements Runnable {
+    private static final int MAX_CATCH_UP = 5; // Ticks run back to back before the schedule is reset
+    private static final long SPIN_NANOS = 1_000_000L; // Final stretch before a deadline is spent yielding
+
+    private final Runnable tickAction;
+    private final Runnable renderAction;
+    private final long renderNanos;
+    private final PerfMonitor monitor; // null when not instrumented
+    private final Thread thread;
+
+    private volatile boolean running;
+    private volatile long tickNanos;
+    private volatile int generation; // Bumped by start() so the loop thread resets its schedule
+
+    // Timing State, written by the loop thread only (it resets the counters on a new generation,
+    // so until it runs again they still describe the run before the last start())
+    private volatile long lastTickTime; // Scheduled time of the most recent tick
+    private volatile long tickCount;
+    private volatile long lateTicks;
+    private volatile long maxLateNanos;
+    private volatile long skippedTicks;
+
+    // Constructor
+    public GameLoop(Runnable tickAction, Runnable renderAction, int renderRate) {
+        this(tickAction, renderAction, renderRate, null);
+    }
+
+    // Constructor, reporting tick timings to a monitor
+    public GameLoop(Runnable tickAction, Runnable renderAction, int renderRate, PerfMonitor monitor) {
+        this.tickAction = tickAction;
+        this.renderAction = renderAction;
+        this.renderNanos = 1_000_000_000L / renderRate;
+        this.monitor = monitor;
+        thread = new Thread(this, "Game Loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Start (or Restart) Ticking Every tickMillis Milliseconds
+    public void start(int tickMillis) {
+        tickNanos = tickMillis * 1_000_000L;
+        generation++; // The loop thread resets the timing state when it sees this
+        running = true;
+        LockSupport.unpark(thread);
+    }
+
+    // Stop Ticking; safe to call from the tick action itself
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        int seenGeneration = generation;
+        long nextTick = 0;
+        long nextRender = 0;
+        long previousTickStart = 0; // Actual start of the previous tick, 0 right after a start
+        while (true) {
+            if (!running) {
+                LockSupport.park(this);
+                continue;
+            }
+            long now = System.nanoTime();
+            if (seenGeneration != generation) {
+                seenGeneration = generation;
+                lastTickTime = now;
+                tickCount = 0;
+                lateTicks = 0;
+                maxLateNanos = 0;
+                skippedTicks = 0;
+                nextTick = now + tickNanos;
+                nextRender = now;
+                previousTickStart = 0;
+            }
+
+            // Simulate Every Tick That Is Due
+            int caughtUp = 0;
+            while (running && now >= nextTick && seenGeneration == generation) {
+                long late = now - nextTick;
+                if (late > tickNanos / 4) {
+                    lateTicks++;
+                }
+                if (late > maxLateNanos) {
+                    maxLateNanos = late;
+                }
+                lastTickTime = nextTick;
+                tickCount++;
+                tickAction.run();
+                long tickStart = now;
+                now = System.nanoTime();
+                if (monitor != null) {
+                    monitor.recordTick(now - tickStart, previousTickStart != 0 ? tickStart - previousTickStart : 0, tickNanos);
+                }
+                previousTickStart = tickStart;
+                nextTick += tickNanos;
+                if (++caughtUp >= MAX_CATCH_UP && now >= nextTick) {
+                    long behind = (now - nextTick) / tickNanos + 1;
+                    skippedTicks += behind;
+                    nextTick += behind * tickNanos;
+                }
+            }
+
+            // Request a Frame at the Render Rate
+            if (now >= nextRender) {
+                renderAction.run();
+                nextRender += renderNanos;
+                if (nextRender < now) {
+                    nextRender = now + renderNanos;
+                }
+            }
+
+            // Sleep until the Next Deadline, then yield through the last stretch for precision
+            long wait = Math.min(nextTick, nextRender) - System.nanoTime();
+            if (wait > SPIN_NANOS) {
+                LockSupport.parkNanos(this, wait - SPIN_NANOS);
+            } else if (wait > 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    // Fraction of the Current Tick That Has Elapsed, for render interpolation (0 to 1)
+    public float getInterpolation() {
+        if (!running) {
+            return 1f;
+        }
+        float alpha = (float) (System.nanoTime() - lastTickTime) / tickNanos;
+        return alpha < 0f ? 0f : Math.min(alpha, 1f);
+    }
+
+    // Tick Length Set by the Last start()
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    // Timing Statistics since the Last start()
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public long getMaxLateNanos() {
+        return maxLateNanos;
+    }
+
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+}
@@ -0,0 +1,44 @@
+package snake;
+
+public class GameRecord {
+    private String snakeColor;
+    private String difficulty;
+    private int score;
+    private long time;
+    private long endedAt; // Wall-clock time the game ended, in epoch milliseconds
+
+    // Constructor
+    public GameRecord(String snakeColor, String difficulty, int score, long time, long endedAt) {
+        this.snakeColor = snakeColor;
+        this.difficulty = difficulty;
+        this.score = score;
+        this.time = time;
+        this.endedAt = endedAt;
+    }
+
+    // Getters
+    public String getSnakeColor() {
+        return snakeColor;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Color: " + snakeColor + ", Difficulty: " + difficulty + ", Score: " + score + ", Time: " + time + "ms";
+    }
+}
@@ -0,0 +1,17 @@
+package snake;
+
+// High Score Entry, ordered by score descending
+public class HighScore implements Comparable<HighScore> {
+    final String name;
+    final int score;
+
+    HighScore(String name, int score) {
+        this.name = name;
+        this.score = score;
+    }
+
+    @Override
+    public int compareTo(HighScore other) {
+        return Integer.compare(other.score, this.score); // Descending order
+    }
+}
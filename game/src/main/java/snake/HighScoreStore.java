@@ -0,0 +1,189 @@
+package snake;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+// Binary High Score File: a small versioned format written to a temporary file and atomically
+// renamed over the old one, so a crash mid-save never leaves a half-written table. All file access
+// runs on one background thread, in submission order, and never on the EDT.
+//
+// Layout (big-endian): magic "SNHS", u16 version, u16 count, then per entry an i32 score and a
+// modified-UTF-8 name (u16 length + bytes), then a CRC-32 of everything before it.
+public class HighScoreStore {
+    static final int MAGIC = 0x534E4853; // "SNHS"
+    static final int VERSION = 1;
+    static final int MAX_NAME_LENGTH = 64; // Characters kept per name
+
+    private final Path file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "High Score Store");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Constructor
+    public HighScoreStore(String filePath) {
+        this.file = Paths.get(filePath);
+    }
+
+    // Load the Table in the Background (empty if missing or unreadable), sorted best first
+    public CompletableFuture<List<HighScore>> load() {
+        return CompletableFuture.supplyAsync(this::read, executor);
+    }
+
+    // Save a Snapshot of the Table in the Background
+    public CompletableFuture<Void> save(List<HighScore> scores) {
+        List<HighScore> snapshot = new ArrayList<>(scores); // The caller may keep changing its list
+        return CompletableFuture.runAsync(() -> {
+            try {
+                write(snapshot);
+            } catch (IOException e) {
+                System.err.println("Error saving high scores.");
+                e.printStackTrace();
+            }
+        }, executor);
+    }
+
+    private List<HighScore> read() {
+        if (!Files.exists(file)) {
+            return new ArrayList<>(); // Initialize with empty high scores
+        }
+        try {
+            byte[] data = Files.readAllBytes(file);
+            List<HighScore> scores;
+            if (data.length >= 4 && readInt(data, 0) == MAGIC) {
+                scores = decode(data);
+            } else {
+                scores = migrateLegacy(data);
+            }
+            Collections.sort(scores);
+            return scores;
+        } catch (Exception e) {
+            System.err.println("Error loading high scores.");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    // Encode and Atomically Replace the File
+    private void write(List<HighScore> scores) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(scores.size());
+        for (HighScore score : scores) {
+            out.writeInt(score.score);
+            String name = score.name.length() > MAX_NAME_LENGTH ? score.name.substring(0, MAX_NAME_LENGTH) : score.name;
+            out.writeUTF(name);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp.toFile())) {
+            bytes.writeTo(stream);
+            stream.getFD().sync(); // Contents reach the disk before the rename makes them visible
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static List<HighScore> decode(byte[] data) throws IOException {
+        if (data.length < 12) {
+            throw new IOException("High score file is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != readInt(data, data.length - 4)) {
+            throw new IOException("High score file is corrupt (checksum mismatch)");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 4, data.length - 8));
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported high score file version " + version);
+        }
+        int count = in.readUnsignedShort();
+        List<HighScore> scores = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int score = in.readInt();
+            scores.add(new HighScore(in.readUTF(), score));
+        }
+        return scores;
+    }
+
+    // One-Time Migration from the Old Serialized ArrayList<SnakeGame$HighScore>. Those entries
+    // held a reference to the whole game panel, so the old writer always failed part-way through
+    // the first entry and the file can't be deserialized. The first entry's score and name are
+    // still intact just after its class descriptor, so they are salvaged from the raw bytes and
+    // the original file is kept next to the new one.
+    private List<HighScore> migrateLegacy(byte[] data) throws IOException {
+        List<HighScore> scores = new ArrayList<>();
+        HighScore salvaged = salvageLegacyEntry(data);
+        if (salvaged != null) {
+            scores.add(salvaged);
+        }
+        Path backup = file.resolveSibling(file.getFileName() + ".legacy");
+        if (!Files.exists(backup)) {
+            Files.copy(file, backup);
+        }
+        write(scores);
+        System.err.println("Migrated " + scores.size() + " high score(s) from the old file format; original kept as " + backup);
+        return scores;
+    }
+
+    static HighScore salvageLegacyEntry(byte[] data) {
+        byte[] className = "SnakeGame$HighScore".getBytes(StandardCharsets.UTF_8);
+        int start = indexOf(data, className, 0);
+        if (start < 0) {
+            return null;
+        }
+        // Fields (score, name, this$0) end with TC_ENDBLOCKDATA and a null superclass descriptor
+        int end = indexOf(data, new byte[] { 0x78, 0x70 }, start + className.length);
+        int position = end + 2;
+        if (end < 0 || position + 7 > data.length || data[position + 4] != 0x74) { // TC_STRING
+            return null;
+        }
+        int score = readInt(data, position);
+        int length = ((data[position + 5] & 0xff) << 8) | (data[position + 6] & 0xff);
+        if (position + 7 + length > data.length) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, position + 5, length + 2));
+            return new HighScore(in.readUTF(), score);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xff) << 24) | ((data[offset + 1] & 0xff) << 16)
+                | ((data[offset + 2] & 0xff) << 8) | (data[offset + 3] & 0xff);
+    }
+}
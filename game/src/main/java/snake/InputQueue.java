@@ -0,0 +1,142 @@
+package snake;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Bounded Lock-Free Input Queue between one producer (the EDT's key handler) and one consumer
+// (the game loop). Each entry is a direction and the System.nanoTime() of the key press, held in
+// preallocated arrays, so neither side allocates or blocks. The consumer takes at most one
+// usable turn per tick; presses that would not change direction are discarded as they are
+// reached, so a quick second press waits for the next tick instead of overwriting the first.
+// A press is dropped only when the queue is full.
+public class InputQueue {
+    static final int DEFAULT_CAPACITY = 4; // Turns queued ahead of the snake
+
+    private final Direction[] directions;
+    private final long[] timestamps;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next entry to take, advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next entry to fill, advanced by the producer
+    private long polledTimestamp; // Consumer only
+    private volatile long dropped;
+
+    // Constructor; the capacity is rounded up to a power of two
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        directions = new Direction[size];
+        timestamps = new long[size];
+        mask = size - 1;
+    }
+
+    // Add a Press (producer thread); returns false and counts a drop if the queue is full
+    public boolean offer(Direction direction, long timestampNanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int index = (int) t & mask;
+        directions[index] = direction;
+        timestamps[index] = timestampNanos;
+        tail.lazySet(t + 1); // Publishes the entry to the consumer
+        return true;
+    }
+
+    // Take the Oldest Press That Would Turn the Engine's Snake (consumer thread), skipping presses
+    // along its current axis; null if there is none. Its timestamp is then getPolledTimestamp().
+    public Direction poll(SnakeEngine engine) {
+        long h = head.get();
+        long t = tail.get();
+        while (h < t) {
+            int index = (int) h & mask;
+            Direction direction = directions[index];
+            long timestamp = timestamps[index];
+            h++;
+            if (engine.canSteer(direction)) {
+                head.lazySet(h); // Frees the slots to the producer
+                polledTimestamp = timestamp;
+                return direction;
+            }
+        }
+        head.lazySet(h);
+        return null;
+    }
+
+    // Key Press Time of the Direction Last Returned by poll()
+    public long getPolledTimestamp() {
+        return polledTimestamp;
+    }
+
+    // Discard Everything Queued (consumer thread, or while the consumer is idle)
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    // Presses Dropped because the Queue Was Full
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Input Lag Check: a real GameLoop ticks a headless engine at each difficulty's rate while
+    // another thread presses keys at random times, first single presses at most one per tick, then
+    // double taps two turns inside a single tick. Reports press-to-move latency against the tick
+    // length and how many turns of the double taps were applied.
+    // Run with: java snake.InputQueue [presses]
+    public static void main(String[] args) throws InterruptedException {
+        int presses = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        Direction[] stairs = { Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.RIGHT }; // Every press turns, never crossing the trail
+
+        for (SnakeGame.Difficulty difficulty : SnakeGame.Difficulty.values()) {
+            long tickNanos = difficulty.speed * 1_000_000L;
+            SnakeEngine engine = new SnakeEngine(1000, 1000, new Random(1));
+            InputQueue queue = new InputQueue(DEFAULT_CAPACITY);
+            LatencyHistogram latency = new LatencyHistogram();
+            long[] turns = new long[1];
+            GameLoop loop = new GameLoop(() -> {
+                synchronized (engine) {
+                    Direction input = queue.poll(engine);
+                    engine.step(input != null ? input : Direction.NONE);
+                    if (input != null) {
+                        latency.record(System.nanoTime() - queue.getPolledTimestamp());
+                        turns[0]++;
+                    }
+                }
+            }, () -> { }, 60);
+            loop.start(difficulty.speed);
+
+            // Single Presses, at least a tick apart so each one can be applied on the next tick
+            Random random = new Random(difficulty.ordinal());
+            int next = 0;
+            for (int i = 0; i < presses; i++) {
+                LockSupport.parkNanos(tickNanos + (long) (random.nextDouble() * tickNanos));
+                queue.offer(stairs[next++ & 3], System.nanoTime());
+            }
+            LockSupport.parkNanos(2 * tickNanos);
+            loop.stop();
+            long singleTurns;
+            synchronized (engine) {
+                singleTurns = turns[0];
+                turns[0] = 0;
+            }
+            System.out.printf("%-6s tick %3d ms: %d of %d presses applied, latency p50 %5.1f ms, p99 %5.1f ms, max %5.1f ms (%.0f%% of a tick)%n",
+                    difficulty, difficulty.speed, singleTurns, presses, latency.percentile(50) / 1e6,
+                    latency.percentile(99) / 1e6, latency.getMax() / 1e6, 100.0 * latency.getMax() / tickNanos);
+
+            // Double Taps, two turns a few milliseconds apart inside one tick
+            loop.start(difficulty.speed);
+            for (int i = 0; i < presses; i++) {
+                LockSupport.parkNanos(2 * tickNanos + (long) (random.nextDouble() * tickNanos));
+                queue.offer(stairs[next++ & 3], System.nanoTime());
+                LockSupport.parkNanos(5_000_000L);
+                queue.offer(stairs[next++ & 3], System.nanoTime());
+            }
+            LockSupport.parkNanos(3 * tickNanos);
+            loop.stop();
+            synchronized (engine) {
+                System.out.printf("%-6s double taps: %d of %d turns applied, %d dropped, game over: %b%n",
+                        difficulty, turns[0], 2 * presses, queue.getDropped(), engine.isGameOver());
+            }
+        }
+    }
+}
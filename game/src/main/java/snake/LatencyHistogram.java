@@ -0,0 +1,78 @@
+package snake;
+
+import java.util.Arrays;
+
+// Latency Histogram over nanosecond values with fixed log-linear buckets: every power of two is
+// split into 16 sub-buckets, so any value is held to within about 6% using one preallocated
+// array. Recording is a few shifts and an increment with no allocation. There is one writer
+// thread; readers on other threads may see a recording in progress, which is fine for display.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private volatile long count;
+    private volatile long max;
+
+    // Record One Value; negative values count as zero
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        if (value > max) {
+            max = value;
+        }
+        count++;
+    }
+
+    // Forget Everything Recorded; call from the writer thread or while it is idle
+    public void reset() {
+        Arrays.fill(counts, 0);
+        max = 0;
+        count = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    // Value at the Given Percentile (0 to 100), as the lower bound of its bucket; 0 if empty
+    public long percentile(double percentile) {
+        long total = count;
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(lowerBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    // Bucket Index: values below 16 get their own bucket, larger ones keep their top five bits
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+}
@@ -0,0 +1,318 @@
+package snake;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.CRC32;
+
+// Ranked Leaderboard of Every Player's Best Score, safe for many game sessions at once without a
+// global lock. Three structures hold the same entries:
+//   best     name to best score, in a ConcurrentHashMap; updates to one player are serialized
+//            by its bin, and different players update in parallel
+//   counts   players per score in a Fenwick tree of atomic counters, so "how many players beat
+//            this score" is a prefix sum in O(log maxScore) with no lock at all
+//   ordered  entries by score (best first) then name, in a ConcurrentSkipListSet, for the top
+//            of the table and the entries around a player in O(log n + k)
+// While an update is in flight its player may briefly be counted under both scores; ranks are
+// exact once updates settle. Scores above maxScore - 1 rank as ties at the top.
+//
+// With a journal open, every new best is appended as a record (i32 length, i32 score, UTF name,
+// i32 CRC-32 of the score and name) by one background thread. Opening replays the journal,
+// keeping each name's best, stops at a torn or corrupt tail, and rewrites the file compacted to
+// one record per player when it has grown well past that. Records are not synced one by one, so
+// a crash may lose the last few; flush() forces everything written so far to the disk.
+public class Leaderboard {
+    static final int DEFAULT_MAX_SCORE = 1 << 20;
+    static final Comparator<HighScore> ORDER = Comparator.<HighScore>comparingInt(entry -> -entry.score)
+            .thenComparing(entry -> entry.name);
+    private static final int COMPACT_SLACK = 1024; // Extra records tolerated before compacting
+
+    private final int maxScore;
+    private final ConcurrentHashMap<String, Integer> best = new ConcurrentHashMap<>();
+    private final AtomicLongArray counts; // Fenwick tree, 1-based, over scores 0 to maxScore - 1
+    private final NavigableSet<HighScore> ordered = new ConcurrentSkipListSet<>(ORDER);
+
+    // Journal, written by the I/O thread only
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Leaderboard Journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile FileChannel journal;
+    private Path journalFile;
+
+    // Constructor, for scores from 0 to DEFAULT_MAX_SCORE - 1
+    public Leaderboard() {
+        this(DEFAULT_MAX_SCORE);
+    }
+
+    public Leaderboard(int maxScore) {
+        if (maxScore < 1) {
+            throw new IllegalArgumentException("Invalid maximum score " + maxScore);
+        }
+        this.maxScore = maxScore;
+        counts = new AtomicLongArray(maxScore + 1);
+    }
+
+    // Record a Score; returns true if it is the player's new best
+    public boolean submit(String name, int score) {
+        String key = normalize(name);
+        if (key.isEmpty() || score < 0) {
+            return false;
+        }
+        boolean[] improved = new boolean[1];
+        best.compute(key, (player, previous) -> {
+            if (previous != null && previous >= score) {
+                return previous;
+            }
+            // Insert before removing, so a concurrent top() never misses the player
+            ordered.add(new HighScore(player, score));
+            add(score, 1);
+            if (previous != null) {
+                ordered.remove(new HighScore(player, previous));
+                add(previous, -1);
+            }
+            improved[0] = true;
+            return score;
+        });
+        if (improved[0] && journal != null) {
+            executor.execute(() -> append(key, score));
+        }
+        return improved[0];
+    }
+
+    // Rank a Score Would Have, 1 for the best; players with equal scores share a rank
+    public long rank(int score) {
+        return countAbove(score) + 1;
+    }
+
+    // Rank of a Player's Best Score, or -1 if the player has none
+    public long rank(String name) {
+        Integer score = best.get(normalize(name));
+        return score == null ? -1 : rank(score);
+    }
+
+    // Player's Best Score, or -1
+    public int best(String name) {
+        return best.getOrDefault(normalize(name), -1);
+    }
+
+    public int size() {
+        return best.size();
+    }
+
+    // Best k Entries, best first
+    public List<HighScore> top(int k) {
+        List<HighScore> entries = new ArrayList<>(Math.min(k, 64));
+        for (HighScore entry : ordered) {
+            if (entries.size() == k) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // Up to k Entries on Each Side of a Player, best first, with the player in the middle
+    public List<HighScore> around(String name, int k) {
+        String key = normalize(name);
+        Integer score = best.get(key);
+        List<HighScore> entries = new ArrayList<>(2 * k + 1);
+        if (score == null) {
+            return entries;
+        }
+        HighScore self = new HighScore(key, score);
+        for (HighScore entry : ordered.headSet(self, false).descendingSet()) {
+            if (entries.size() == k) {
+                break;
+            }
+            entries.add(0, entry);
+        }
+        entries.add(self);
+        int limit = entries.size() + k;
+        for (HighScore entry : ordered.tailSet(self, false)) {
+            if (entries.size() == limit) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // Fenwick Tree: counts of players per score, with prefix sums
+    private void add(int score, long delta) {
+        for (int i = clamp(score) + 1; i <= maxScore; i += i & -i) {
+            counts.getAndAdd(i, delta);
+        }
+    }
+
+    // Players Scoring Strictly More than a Score
+    private long countAbove(int score) {
+        int index = clamp(score);
+        if (index == maxScore - 1) {
+            return 0;
+        }
+        return prefix(maxScore) - prefix(index + 1);
+    }
+
+    // Players in the First count Score Buckets, i.e. scoring below count
+    private long prefix(int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += counts.get(i);
+        }
+        return sum;
+    }
+
+    private int clamp(int score) {
+        return Math.max(0, Math.min(score, maxScore - 1));
+    }
+
+    private static String normalize(String name) {
+        String trimmed = name == null ? "" : name.trim();
+        return trimmed.length() > HighScoreStore.MAX_NAME_LENGTH ? trimmed.substring(0, HighScoreStore.MAX_NAME_LENGTH) : trimmed;
+    }
+
+    // Replay a Journal into the Board in the Background, then append every new best to it
+    public CompletableFuture<Void> open(Path file) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                journalFile = file;
+                Map<String, Integer> journaled = new HashMap<>();
+                long records = replay(file, journaled);
+                if (records > 2L * journaled.size() + COMPACT_SLACK) {
+                    compact(file, journaled);
+                }
+                journal = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                for (Map.Entry<String, Integer> entry : best.entrySet()) {
+                    Integer saved = journaled.get(entry.getKey());
+                    if (saved == null || saved < entry.getValue()) {
+                        append(entry.getKey(), entry.getValue()); // Submitted before the journal was open
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error opening the leaderboard journal.");
+                e.printStackTrace();
+            }
+        }, executor);
+    }
+
+    // Read Every Intact Record into the board and the journaled bests, cutting off a torn or
+    // corrupt tail; returns the records read
+    private long replay(Path file, Map<String, Integer> journaled) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long records = 0;
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < 10 || length > 10 + 3 * HighScoreStore.MAX_NAME_LENGTH) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                try {
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(body, 0, length - 4);
+                ByteBuffer record = ByteBuffer.wrap(body);
+                if ((int) crc.getValue() != record.getInt(length - 4)) {
+                    break;
+                }
+                int score = record.getInt();
+                String name = new DataInputStream(new ByteArrayInputStream(body, 4, length - 8)).readUTF();
+                submit(name, score);
+                journaled.merge(name, score, Math::max);
+                records++;
+                valid += 4 + length;
+            }
+        }
+        if (valid < Files.size(file)) {
+            System.err.println("Leaderboard journal has a damaged tail; keeping " + records + " records.");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        return records;
+    }
+
+    // Rewrite the Journal with One Record per Player, atomically replacing the old file
+    private void compact(Path file, Map<String, Integer> journaled) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Integer> entry : journaled.entrySet()) {
+                write(channel, entry.getKey(), entry.getValue());
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Append One Record (I/O thread only)
+    private void append(String name, int score) {
+        try {
+            write(journal, name, score);
+        } catch (IOException e) {
+            System.err.println("Error writing to the leaderboard journal " + journalFile + ".");
+            e.printStackTrace();
+        }
+    }
+
+    private static void write(FileChannel channel, String name, int score) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + name.length());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // Length, filled in below
+        out.writeInt(score);
+        out.writeUTF(name);
+        byte[] record = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(record, 4, record.length - 4);
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 4);
+        buffer.put(record).putInt((int) crc.getValue()).putInt(0, record.length);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Wait for Queued Records and Force Them to the Disk
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                if (journal != null) {
+                    journal.force(false);
+                }
+            } catch (IOException e) {
+                System.err.println("Error syncing the leaderboard journal.");
+                e.printStackTrace();
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,126 @@
+package snake;
+
+import java.io.IOException;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.SplittableRandom;
+
+// Simulated Network Link, for playing netplay against yourself on one machine: every datagram
+// sent through it is dropped with the given loss probability, or held back for the latency
+// plus a uniformly random jitter of up to +/- jitter and then written to the channel, so
+// datagrams arrive late, irregularly and out of order as on a real network. Held datagrams are
+// copied into a fixed pool of POOL buffers (a datagram that finds the pool full is dropped and
+// counted as an overflow), so the link allocates nothing per datagram. With no latency, jitter
+// or loss, datagrams go straight through. Not thread-safe; one peer drives it.
+public class LinkSimulator {
+    static final int POOL = 256;
+    static final int MAX_DATAGRAM = 512;
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double loss;
+    private final SplittableRandom random;
+    private final ByteBuffer[] buffers = new ByteBuffer[POOL];
+    private final long[] dueTimes = new long[POOL];
+    private final boolean[] held = new boolean[POOL];
+    private int heldCount;
+
+    // Statistics
+    private long sent;
+    private long dropped;
+    private long overflows;
+
+    // Constructor; loss is a probability from 0 to 1
+    public LinkSimulator(long latencyNanos, long jitterNanos, double loss, long seed) {
+        if (latencyNanos < 0 || jitterNanos < 0 || loss < 0 || loss > 1) {
+            throw new IllegalArgumentException("Invalid link: latency " + latencyNanos + " ns, jitter " + jitterNanos + " ns, loss " + loss);
+        }
+        this.latencyNanos = latencyNanos;
+        this.jitterNanos = jitterNanos;
+        this.loss = loss;
+        random = new SplittableRandom(seed);
+        for (int i = 0; i < POOL; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(MAX_DATAGRAM);
+        }
+    }
+
+    // Perfect Link
+    public static LinkSimulator direct() {
+        return new LinkSimulator(0, 0, 0, 0);
+    }
+
+    // Send a Datagram (from its position to its limit) now or later, or lose it
+    public void send(DatagramChannel channel, ByteBuffer datagram, long now) throws IOException {
+        if (loss > 0 && random.nextDouble() < loss) {
+            dropped++;
+            return;
+        }
+        if (latencyNanos == 0 && jitterNanos == 0) {
+            write(channel, datagram);
+            return;
+        }
+        int slot = freeSlot();
+        if (slot == -1) {
+            overflows++;
+            return;
+        }
+        long delay = latencyNanos + (jitterNanos > 0 ? random.nextLong(-jitterNanos, jitterNanos + 1) : 0);
+        ByteBuffer buffer = buffers[slot];
+        buffer.clear();
+        buffer.put(datagram).flip();
+        dueTimes[slot] = now + Math.max(0, delay);
+        held[slot] = true;
+        heldCount++;
+    }
+
+    // Write Every Held Datagram that Is Due
+    public void pump(DatagramChannel channel, long now) throws IOException {
+        for (int slot = 0; slot < POOL && heldCount > 0; slot++) {
+            if (held[slot] && dueTimes[slot] - now <= 0) {
+                held[slot] = false;
+                heldCount--;
+                write(channel, buffers[slot]);
+            }
+        }
+    }
+
+    private int freeSlot() {
+        if (heldCount == POOL) {
+            return -1;
+        }
+        for (int slot = 0; slot < POOL; slot++) {
+            if (!held[slot]) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void write(DatagramChannel channel, ByteBuffer datagram) throws IOException {
+        try {
+            channel.write(datagram);
+            sent++;
+        } catch (PortUnreachableException e) {
+            dropped++; // The other peer is not listening yet
+        }
+    }
+
+    // Getters
+    public long getSent() {
+        return sent;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getOverflows() {
+        return overflows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ms latency, %d ms jitter, %.1f%% loss", latencyNanos / 1_000_000, jitterNanos / 1_000_000, loss * 100);
+    }
+}
@@ -0,0 +1,212 @@
+package snake;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+// Load Test for the Multiplayer Server: connects many bots from one selector thread, each of
+// which joins and sends a random turn now and then, and reports the bandwidth each bot receives
+// and how long the server's ticks take. Bot 0 decodes everything into a RemoteBoard; when the
+// run ends against an embedded server, ticking is paused and bot 0's board is checked against
+// the server's, proving the deltas rebuild the authoritative state.
+// Run with: java snake.LoadTester [bots] [seconds] [host port]
+public class LoadTester {
+    private static final int TURN_CHANCE = 20; // Percent of bots turning every tick interval
+
+    // One Bot Connection; in holds unread bytes
+    private static final class Bot {
+        final int index;
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+        final ByteBuffer out = ByteBuffer.allocate(256);
+        SelectionKey key;
+        long bytesReceived;
+        boolean closed;
+
+        Bot(int index, SocketChannel channel) {
+            this.index = index;
+            this.channel = channel;
+        }
+    }
+
+    private final Selector selector;
+    private final Bot[] bots;
+    private final RemoteBoard mirror = new RemoteBoard(); // Bot 0's copy of the board
+    private final Random random = new Random();
+    private int closedBots;
+
+    LoadTester(InetSocketAddress address, int botCount) throws IOException {
+        selector = Selector.open();
+        bots = new Bot[botCount];
+        for (int i = 0; i < botCount; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Bot bot = new Bot(i, channel);
+            bot.key = channel.register(selector, SelectionKey.OP_READ, bot);
+            NetProtocol.writeHello(bot.out, "bot" + i);
+            flush(bot);
+            bots[i] = bot;
+        }
+    }
+
+    // Serve Every Bot for a While, turning at random once per interval
+    void run(long nanos, int turnMillis) throws IOException {
+        long end = System.nanoTime() + nanos;
+        long nextTurn = System.nanoTime();
+        for (long now; (now = System.nanoTime()) < end; ) {
+            if (turnMillis > 0 && now >= nextTurn) {
+                for (Bot bot : bots) {
+                    if (!bot.closed && bot.out.position() == 0 && random.nextInt(100) < TURN_CHANCE) {
+                        NetProtocol.writeInput(bot.out, NetProtocol.direction(random.nextInt(4)));
+                        flush(bot);
+                    }
+                }
+                nextTurn = now + turnMillis * 1_000_000L;
+            }
+            long wait = Math.min(end, turnMillis > 0 ? nextTurn : end) - System.nanoTime();
+            selector.select(Math.max(1, wait / 1_000_000L));
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Bot bot = (Bot) key.attachment();
+                try {
+                    if (key.isValid() && key.isReadable()) {
+                        read(bot);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(bot);
+                    }
+                } catch (IOException e) {
+                    close(bot);
+                }
+            }
+        }
+    }
+
+    // Count Every Complete Message; bot 0 also applies them to its board
+    private void read(Bot bot) throws IOException {
+        int read = bot.channel.read(bot.in);
+        if (read < 0) {
+            close(bot);
+            return;
+        }
+        bot.bytesReceived += read;
+        ByteBuffer in = bot.in;
+        in.flip();
+        while (in.remaining() >= NetProtocol.HEADER_BYTES) {
+            int length = in.getInt(in.position());
+            if (in.remaining() < NetProtocol.HEADER_BYTES + length) {
+                if (NetProtocol.HEADER_BYTES + length > in.capacity()) {
+                    throw new IOException("Message of " + length + " bytes is too large for a bot");
+                }
+                break;
+            }
+            if (bot.index == 0) {
+                mirror.apply(in.slice(in.position() + NetProtocol.HEADER_BYTES, length));
+            }
+            in.position(in.position() + NetProtocol.HEADER_BYTES + length);
+        }
+        in.compact();
+    }
+
+    private void flush(Bot bot) throws IOException {
+        bot.out.flip();
+        bot.channel.write(bot.out);
+        bot.out.compact();
+        bot.key.interestOps(bot.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void close(Bot bot) {
+        if (bot.closed) {
+            return;
+        }
+        bot.closed = true;
+        closedBots++;
+        bot.key.cancel();
+        try {
+            bot.channel.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    void closeAll() throws IOException {
+        for (Bot bot : bots) {
+            close(bot);
+        }
+        selector.close();
+    }
+
+    long getBytesReceived() {
+        long total = 0;
+        for (Bot bot : bots) {
+            total += bot.bytesReceived;
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int botCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        SnakeServer server = null;
+        InetSocketAddress address;
+        if (args.length > 2) {
+            address = new InetSocketAddress(args[2], args.length > 3 ? Integer.parseInt(args[3]) : SnakeServer.DEFAULT_PORT);
+        } else {
+            server = new SnakeServer(0, new MultiplayerBoard(512, 512, 256, new Random()), 100);
+            address = new InetSocketAddress("localhost", server.getPort());
+        }
+
+        long connectStart = System.nanoTime();
+        LoadTester tester = new LoadTester(address, botCount);
+        System.out.printf("Connected %d bots in %.0f ms%n", botCount, (System.nanoTime() - connectStart) / 1e6);
+        tester.run(2_000_000_000L, 100); // Warm up, then measure from a clean start
+        long bytesBefore = tester.getBytesReceived();
+        if (server != null) {
+            SnakeServer warm = server;
+            server.call(() -> {
+                warm.getTickTimes().reset();
+                return null;
+            }).get();
+        }
+        tester.run(seconds * 1_000_000_000L, 100);
+        long bytes = tester.getBytesReceived() - bytesBefore;
+        int connected = botCount - tester.closedBots;
+        System.out.printf("%d of %d bots connected, %.0f B/s per bot, %.1f KB/s in total%n",
+                connected, botCount, bytes / (double) seconds / Math.max(1, connected), bytes / (double) seconds / 1024);
+
+        if (server != null) {
+            SnakeServer target = server;
+            long[] ticks = server.call(() -> {
+                LatencyHistogram times = target.getTickTimes();
+                return new long[] { times.getCount(), times.percentile(50), times.percentile(99), times.getMax() };
+            }).get();
+            System.out.printf("Server: %d ticks, p50 %.1f us, p99 %.1f us, max %.1f us, %d clients dropped%n",
+                    ticks[0], ticks[1] / 1e3, ticks[2] / 1e3, ticks[3] / 1e3, server.getDroppedClients());
+
+            // Hold the board, let bot 0 read everything sent so far, and compare
+            server.setTicking(false);
+            tester.run(1_000_000_000L, 0);
+            MultiplayerBoard board = target.getBoard();
+            long[] state = server.call(() -> new long[] { board.getTick(), board.checksum() }).get();
+            if (tester.bots[0].closed) {
+                System.out.println("Bot 0 was disconnected; board not checked.");
+            } else if (tester.mirror.getTick() == state[0] && tester.mirror.checksum() == state[1]) {
+                System.out.printf("Bot 0's board matches the server's at tick %d%n", state[0]);
+            } else {
+                System.out.printf("Bot 0's board DIFFERS from the server's: tick %d vs %d, checksum %x vs %x%n",
+                        tester.mirror.getTick(), state[0], tester.mirror.checksum(), state[1]);
+            }
+            server.stop();
+        }
+        tester.closeAll();
+    }
+}
@@ -0,0 +1,74 @@
+package snake;
+
+import java.awt.*;
+import javax.swing.*;
+
+// Loading Screen Showing Real Progress: the AssetLoader reports bytes read from its worker threads,
+// and the bar is repainted on the EDT.
+public class LoadingScreen extends JPanel {
+
+    private volatile int progress = 0; // Percent of asset bytes loaded
+    private volatile int loadedAssets = 0;
+    private volatile int totalAssets = 0;
+
+    public LoadingScreen() {
+        this(500, 500);
+    }
+
+    public LoadingScreen(int width, int height) {
+        setPreferredSize(new Dimension(width, height));
+        setBackground(Color.black);
+    }
+
+    // Update Progress; callable from any thread
+    public void setProgress(long loadedBytes, long totalBytes, int loadedAssets, int totalAssets) {
+        int percent = totalBytes > 0 ? (int) (loadedBytes * 100 / totalBytes) : 100;
+        if (loadedAssets < totalAssets) {
+            percent = Math.min(percent, 99); // Only show 100% once every asset is ready
+        }
+        boolean changed = percent != progress || loadedAssets != this.loadedAssets;
+        progress = percent;
+        this.loadedAssets = loadedAssets;
+        this.totalAssets = totalAssets;
+        if (changed) {
+            repaint(); // Coalesced by the repaint manager
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int width = getWidth();
+        int height = getHeight();
+        int barWidth = width * 3 / 5;
+        int barLeft = (width - barWidth) / 2;
+        int barTop = height / 2;
+
+        // Draw loading text
+        g.setColor(Color.white);
+        g.setFont(new Font("Arial", Font.BOLD, 24));
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString("Loading...", (width - metrics.stringWidth("Loading...")) / 2, barTop - 50);
+
+        // Draw progress bar
+        g.setColor(Color.green);
+        g.fillRect(barLeft, barTop, barWidth * progress / 100, 30);
+        g.setColor(Color.gray);
+        g.drawRect(barLeft, barTop, barWidth, 30);
+
+        // Draw progress percentage and asset count
+        g.setColor(Color.white);
+        g.setFont(new Font("Arial", Font.PLAIN, 16));
+        metrics = g.getFontMetrics();
+        String percent = progress + "%";
+        g.drawString(percent, (width - metrics.stringWidth(percent)) / 2, barTop + 20);
+        if (totalAssets > 0) {
+            String assets = loadedAssets + " / " + totalAssets + " assets";
+            g.drawString(assets, (width - metrics.stringWidth(assets)) / 2, barTop + 60);
+        }
+    }
+
+    public boolean isLoadingComplete() {
+        return progress >= 100;
+    }
+}
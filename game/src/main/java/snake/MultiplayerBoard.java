@@ -0,0 +1,392 @@
+package snake;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.random.RandomGenerator;
+
+// Shared Board for Several Snakes, with the rules SnakeEngine applies to one: a turn may not
+// reverse a snake, the body follows the head and keeps score segments, hitting a wall or any
+// body kills, food scores one point and respawns, and special food appears with a chance every
+// tick it is absent and scores the bonus. Snakes that also hit each other head on both die.
+// A dead snake's body is cleared and it respawns a little later at a random free tile.
+//
+// Every step runs in phases over all snakes (steer, move, collide, eat, respawn), so the order
+// players joined in never matters. Each snake records what happened to it during the last step
+// (its move, whether it grew, died, spawned or scored) and food records which slots changed,
+// so the server can send per-tick deltas instead of the whole board.
+public class MultiplayerBoard {
+    static final int MAX_PLAYERS = 0xFFFF; // Ids fit in a u16, and so does the count
+    static final int MAX_CELLS = 1 << 24;
+    static final int RESPAWN_TICKS = 20;
+    static final int INPUT_QUEUE = 4; // Turns queued per player, one applied per tick
+
+    // What Happened to a Snake during the Last Step
+    static final int MOVED = 1;
+    static final int GREW = 1 << 1; // Moved and kept its tail
+    static final int DIED = 1 << 2;
+    static final int SPAWNED = 1 << 3;
+    static final int SCORED = 1 << 4;
+    static final int JOINED = 1 << 5;
+
+    // One Player's Snake
+    static final class Snake {
+        final int id;
+        final String name;
+        final SnakeBody body;
+        int headX;
+        int headY;
+        Direction direction = Direction.RIGHT;
+        int score;
+        boolean alive;
+        long respawnTick;
+        int events; // Flags for the last step
+        boolean joinPending; // Joined since the last step
+        private final Direction[] inputs = new Direction[INPUT_QUEUE];
+        private int inputStart;
+        private int inputCount;
+
+        Snake(int id, String name, int columns, int rows) {
+            this.id = id;
+            this.name = name;
+            body = new SnakeBody(columns, rows);
+        }
+    }
+
+    private final int columns;
+    private final int rows;
+    private final RandomGenerator random;
+    private final IntUnaryOperator randomInt;
+    private final IntPredicate isFree = this::isFreeCell;
+    private final Snake[] snakes = new Snake[MAX_PLAYERS];
+    private int highestId = -1; // Highest id in use, bounding the loops over snakes
+    private int snakeCount;
+
+    // Shared Occupancy: every snake's body, plus heads stamped with the step they were checked in
+    private final long[] occupied;
+    private final int[] headStamp;
+    private final int[] headOwner;
+    private int stamp;
+
+    // Food: a fixed number of slots, each on a cell or -1, plus one special food
+    private final int[] food;
+    private final long[] foodBits;
+    private final int[] changedFood; // Slots placed during the last step
+    private int changedFoodCount;
+    private int specialFood = -1;
+    private boolean specialFoodChanged;
+    private int specialFoodChance = 2; // Out of 10, as in SnakeEngine
+    private int specialFoodBonus = 5;
+
+    private long tick;
+
+    // Constructor
+    public MultiplayerBoard(int columns, int rows, int foodCount, RandomGenerator random) {
+        if (columns <= 0 || rows <= 0 || columns > 0xFFFF || rows > 0xFFFF || (long) columns * rows > MAX_CELLS
+                || foodCount < 1 || foodCount > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid board " + columns + "x" + rows + " with " + foodCount + " food");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.random = random;
+        this.randomInt = random::nextInt;
+        int cells = columns * rows;
+        occupied = new long[(cells + 63) >>> 6];
+        headStamp = new int[cells];
+        headOwner = new int[cells];
+        foodBits = new long[(cells + 63) >>> 6];
+        food = new int[foodCount];
+        changedFood = new int[foodCount];
+        for (int slot = 0; slot < foodCount; slot++) {
+            food[slot] = -1;
+            placeFood(slot);
+        }
+    }
+
+    // Add a Player, who spawns on the next step; returns its id, or -1 if the board is full
+    public int addPlayer(String name) {
+        for (int id = 0; id < MAX_PLAYERS; id++) {
+            if (snakes[id] == null) {
+                Snake snake = new Snake(id, name, columns, rows);
+                snake.respawnTick = tick + 1;
+                snake.joinPending = true;
+                snakes[id] = snake;
+                highestId = Math.max(highestId, id);
+                snakeCount++;
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    // Remove a Player and Clear Its Snake
+    public void removePlayer(int id) {
+        Snake snake = snakes[id];
+        if (snake == null) {
+            return;
+        }
+        clearBody(snake);
+        snakes[id] = null;
+        snakeCount--;
+        while (highestId >= 0 && snakes[highestId] == null) {
+            highestId--;
+        }
+    }
+
+    // Queue a Turn for a Player; dropped if the player already has INPUT_QUEUE turns waiting
+    public void queueInput(int id, Direction direction) {
+        Snake snake = snakes[id];
+        if (snake == null || snake.inputCount == INPUT_QUEUE || direction == Direction.NONE) {
+            return;
+        }
+        snake.inputs[(snake.inputStart + snake.inputCount++) % INPUT_QUEUE] = direction;
+    }
+
+    // Advance Every Snake One Tick
+    public void step() {
+        tick++;
+        stamp++;
+        changedFoodCount = 0;
+        specialFoodChanged = false;
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake != null) {
+                snake.events = snake.joinPending ? JOINED : 0; // A join is reported with the step after it
+                snake.joinPending = false;
+            }
+        }
+
+        // Steer: the oldest queued turn that changes direction
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake != null && snake.alive) {
+                while (snake.inputCount > 0) {
+                    Direction input = snake.inputs[snake.inputStart];
+                    snake.inputStart = (snake.inputStart + 1) % INPUT_QUEUE;
+                    snake.inputCount--;
+                    if (input.dx != 0 ? snake.direction.dx == 0 : snake.direction.dy == 0) {
+                        snake.direction = input;
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Move: every tail leaves before any head is checked, so a head may follow a tail
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake != null && snake.alive) {
+                int neck = snake.headY * columns + snake.headX;
+                snake.body.addFirst(neck);
+                occupied[neck >>> 6] |= 1L << neck;
+                snake.headX += snake.direction.dx;
+                snake.headY += snake.direction.dy;
+                snake.events |= MOVED;
+                if (snake.body.size() > snake.score) {
+                    int tail = snake.body.removeLast();
+                    occupied[tail >>> 6] &= ~(1L << tail);
+                } else {
+                    snake.events |= GREW;
+                }
+            }
+        }
+
+        // Collide: walls, any body, and heads meeting on one tile
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake == null || !snake.alive) {
+                continue;
+            }
+            if (!isInside(snake.headX, snake.headY)) {
+                snake.events |= DIED;
+                continue;
+            }
+            int head = snake.headY * columns + snake.headX;
+            if ((occupied[head >>> 6] & (1L << head)) != 0) {
+                snake.events |= DIED;
+            }
+            if (headStamp[head] == stamp) {
+                snake.events |= DIED;
+                snakes[headOwner[head]].events |= DIED;
+            } else {
+                headStamp[head] = stamp;
+                headOwner[head] = id;
+            }
+        }
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake != null && (snake.events & DIED) != 0) {
+                clearBody(snake);
+                snake.alive = false;
+                snake.score = 0;
+                snake.respawnTick = tick + RESPAWN_TICKS;
+            }
+        }
+
+        // Eat: food scores a point and moves, special food may appear, then scores the bonus
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake == null || !snake.alive) {
+                continue;
+            }
+            int head = snake.headY * columns + snake.headX;
+            if ((foodBits[head >>> 6] & (1L << head)) != 0) {
+                for (int slot = 0; slot < food.length; slot++) {
+                    if (food[slot] == head) {
+                        snake.score++;
+                        snake.events |= SCORED;
+                        placeFood(slot);
+                        break;
+                    }
+                }
+            }
+        }
+        if (specialFood == -1 && random.nextInt(10) < specialFoodChance) {
+            specialFood = randomFreeCell();
+            specialFoodChanged = specialFood != -1;
+        }
+        for (int id = 0; id <= highestId && specialFood != -1; id++) {
+            Snake snake = snakes[id];
+            if (snake != null && snake.alive && snake.headY * columns + snake.headX == specialFood) {
+                snake.score += specialFoodBonus;
+                snake.events |= SCORED;
+                specialFood = -1;
+                specialFoodChanged = true;
+            }
+        }
+
+        // Respawn Players Whose Wait Is Over, heading away from the nearer side wall
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake != null && !snake.alive && snake.respawnTick <= tick) {
+                int cell = randomFreeCell();
+                if (cell == -1) {
+                    continue; // Try again next tick
+                }
+                snake.headX = cell % columns;
+                snake.headY = cell / columns;
+                snake.direction = snake.headX < columns / 2 ? Direction.RIGHT : Direction.LEFT;
+                snake.inputCount = 0;
+                snake.alive = true;
+                snake.events |= SPAWNED;
+                headStamp[cell] = stamp; // Nothing else may spawn on this head
+                headOwner[cell] = id;
+            }
+        }
+    }
+
+    // Release a Snake's Body Cells
+    private void clearBody(Snake snake) {
+        while (snake.body.size() > 0) {
+            int cell = snake.body.removeLast();
+            occupied[cell >>> 6] &= ~(1L << cell);
+        }
+    }
+
+    // Move a Food Slot to a Random Free Cell (off the board if none is left)
+    private void placeFood(int slot) {
+        int old = food[slot];
+        if (old != -1) {
+            foodBits[old >>> 6] &= ~(1L << old);
+        }
+        int cell = randomFreeCell();
+        food[slot] = cell;
+        if (cell != -1) {
+            foodBits[cell >>> 6] |= 1L << cell;
+        }
+        changedFood[changedFoodCount++] = slot;
+    }
+
+    // Uniformly Random Free Cell by rejection sampling, scanning from a random cell if the board is
+    // too crowded for that; -1 if the board is full
+    private int randomFreeCell() {
+        return RandomCells.randomFreeCell(columns * rows, randomInt, isFree);
+    }
+
+    // Check a Cell Holds No Body, Food or Head of a Living Snake
+    private boolean isFreeCell(int cell) {
+        if ((occupied[cell >>> 6] & (1L << cell)) != 0 || (foodBits[cell >>> 6] & (1L << cell)) != 0 || cell == specialFood) {
+            return false;
+        }
+        if (headStamp[cell] == stamp) {
+            Snake owner = snakes[headOwner[cell]];
+            return owner == null || !owner.alive;
+        }
+        return true;
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < columns && y >= 0 && y < rows;
+    }
+
+    // Fingerprint of the Board, computed the same way as RemoteBoard's so a client can be checked
+    public long checksum() {
+        long hash = tick;
+        for (int id = 0; id <= highestId; id++) {
+            Snake snake = snakes[id];
+            if (snake == null) {
+                continue;
+            }
+            hash = hash * 31 + id;
+            hash = hash * 31 + (snake.alive ? snake.headY * columns + snake.headX : -1);
+            hash = hash * 31 + snake.score;
+            for (int i = 0; i < snake.body.size(); i++) {
+                hash = hash * 31 + snake.body.get(i);
+            }
+        }
+        for (int cell : food) {
+            hash = hash * 31 + cell;
+        }
+        return hash * 31 + specialFood;
+    }
+
+    // Getters
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getPlayerCount() {
+        return snakeCount;
+    }
+
+    int getHighestId() {
+        return highestId;
+    }
+
+    // Snake with the Given Id, or null
+    Snake getSnake(int id) {
+        return id >= 0 && id <= highestId ? snakes[id] : null;
+    }
+
+    int getFoodCount() {
+        return food.length;
+    }
+
+    // Cell of a Food Slot, or -1
+    int getFood(int slot) {
+        return food[slot];
+    }
+
+    int getChangedFoodCount() {
+        return changedFoodCount;
+    }
+
+    int getChangedFood(int index) {
+        return changedFood[index];
+    }
+
+    int getSpecialFood() {
+        return specialFood;
+    }
+
+    boolean isSpecialFoodChanged() {
+        return specialFoodChanged;
+    }
+}
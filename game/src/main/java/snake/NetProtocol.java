@@ -0,0 +1,209 @@
+package snake;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Binary Multiplayer Protocol. Every message is an i32 length followed by that many bytes, the
+// first of which is the message type; all numbers are big-endian.
+//
+// Client to server:
+//   HELLO  u8 name length, UTF-8 name            (join the game)
+//   INPUT  u8 direction code                     (queue a turn)
+//
+// Server to client:
+//   SNAPSHOT  i64 tick, u16 columns, u16 rows, u16 tick millis, u16 your id,
+//             u16 snakes, per snake: u16 id, name, u8 alive, u8 direction, i32 score,
+//             i32 head cell, i32 body length, body cells neck first;
+//             u16 food slots, i32 cell per slot, i32 special food cell
+//   TICK      i64 tick, u16 moves, per move: u16 id, u8 (direction code | GREW_BIT);
+//             i32 events, per event: u8 kind, then
+//               LEAVE  u16 id
+//               JOIN   u16 id, name
+//               DIE    u16 id
+//               SPAWN  u16 id, i32 head cell, u8 direction
+//               SCORE  u16 id, i32 score
+//               FOOD   u16 slot, i32 cell
+//               SPECIAL i32 cell
+//
+// A snapshot is sent once, on joining; from then on each tick costs three bytes per moving
+// snake plus a few for whatever changed. Cells are y * columns + x, -1 for none, and names are a
+// u8 length and UTF-8 bytes.
+public final class NetProtocol {
+    static final int HEADER_BYTES = 4;
+    static final int MAX_MESSAGE_BYTES = 1 << 24;
+    static final int MAX_NAME_BYTES = 32;
+
+    // Message Types
+    static final byte HELLO = 1;
+    static final byte INPUT = 2;
+    static final byte SNAPSHOT = 3;
+    static final byte TICK = 4;
+
+    // Tick Event Kinds
+    static final byte LEAVE = 1;
+    static final byte JOIN = 2;
+    static final byte DIE = 3;
+    static final byte SPAWN = 4;
+    static final byte SCORE = 5;
+    static final byte FOOD = 6;
+    static final byte SPECIAL = 7;
+
+    static final int GREW_BIT = 1 << 2;
+    private static final Direction[] CODES = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    private NetProtocol() {
+    }
+
+    // Direction Code (two bits) and Back
+    static int code(Direction direction) {
+        return direction.ordinal() - 1;
+    }
+
+    static Direction direction(int code) {
+        return CODES[code & 3];
+    }
+
+    // Client Messages
+    static void writeHello(ByteBuffer out, String name) {
+        byte[] bytes = nameBytes(name);
+        out.putInt(2 + bytes.length).put(HELLO).put((byte) bytes.length).put(bytes);
+    }
+
+    static void writeInput(ByteBuffer out, Direction direction) {
+        out.putInt(2).put(INPUT).put((byte) code(direction));
+    }
+
+    // Snapshot of the Whole Board for a Player Who Just Joined
+    static void writeSnapshot(ByteBuffer out, MultiplayerBoard board, int tickMillis, int playerId) {
+        int start = out.position();
+        out.putInt(0).put(SNAPSHOT);
+        out.putLong(board.getTick()).putShort((short) board.getColumns()).putShort((short) board.getRows())
+                .putShort((short) tickMillis).putShort((short) playerId);
+        out.putShort((short) board.getPlayerCount());
+        for (int id = 0; id <= board.getHighestId(); id++) {
+            MultiplayerBoard.Snake snake = board.getSnake(id);
+            if (snake == null) {
+                continue;
+            }
+            out.putShort((short) id);
+            putName(out, snake.name);
+            out.put((byte) (snake.alive ? 1 : 0)).put((byte) code(snake.direction)).putInt(snake.score);
+            out.putInt(snake.alive ? snake.headY * board.getColumns() + snake.headX : -1);
+            out.putInt(snake.body.size());
+            for (int i = 0; i < snake.body.size(); i++) {
+                out.putInt(snake.body.get(i));
+            }
+        }
+        out.putShort((short) board.getFoodCount());
+        for (int slot = 0; slot < board.getFoodCount(); slot++) {
+            out.putInt(board.getFood(slot));
+        }
+        out.putInt(board.getSpecialFood());
+        out.putInt(start, out.position() - start - HEADER_BYTES);
+    }
+
+    // Changes Made by the Last Step, after the departures since the step before
+    static void writeTick(ByteBuffer out, MultiplayerBoard board, int[] left, int leftCount) {
+        int start = out.position();
+        out.putInt(0).put(TICK).putLong(board.getTick());
+        int movesAt = out.position();
+        out.putShort((short) 0);
+        int moves = 0;
+        for (int id = 0; id <= board.getHighestId(); id++) {
+            MultiplayerBoard.Snake snake = board.getSnake(id);
+            if (snake != null && (snake.events & MultiplayerBoard.MOVED) != 0) {
+                int grew = (snake.events & MultiplayerBoard.GREW) != 0 ? GREW_BIT : 0;
+                out.putShort((short) id).put((byte) (code(snake.direction) | grew));
+                moves++;
+            }
+        }
+        out.putShort(movesAt, (short) moves);
+
+        int eventsAt = out.position();
+        out.putInt(0);
+        int events = 0;
+        for (int i = 0; i < leftCount; i++) {
+            out.put(LEAVE).putShort((short) left[i]);
+            events++;
+        }
+        for (int id = 0; id <= board.getHighestId(); id++) {
+            MultiplayerBoard.Snake snake = board.getSnake(id);
+            if (snake == null || snake.events == 0) {
+                continue;
+            }
+            if ((snake.events & MultiplayerBoard.JOINED) != 0) {
+                out.put(JOIN).putShort((short) id);
+                putName(out, snake.name);
+                events++;
+            }
+            if ((snake.events & MultiplayerBoard.DIED) != 0) {
+                out.put(DIE).putShort((short) id);
+                events++;
+            }
+            if ((snake.events & MultiplayerBoard.SPAWNED) != 0) {
+                out.put(SPAWN).putShort((short) id).putInt(snake.headY * board.getColumns() + snake.headX)
+                        .put((byte) code(snake.direction));
+                events++;
+            }
+            if ((snake.events & (MultiplayerBoard.SCORED | MultiplayerBoard.DIED)) != 0) {
+                out.put(SCORE).putShort((short) id).putInt(snake.score);
+                events++;
+            }
+        }
+        for (int i = 0; i < board.getChangedFoodCount(); i++) {
+            int slot = board.getChangedFood(i);
+            out.put(FOOD).putShort((short) slot).putInt(board.getFood(slot));
+            events++;
+        }
+        if (board.isSpecialFoodChanged()) {
+            out.put(SPECIAL).putInt(board.getSpecialFood());
+            events++;
+        }
+        out.putInt(eventsAt, events);
+        out.putInt(start, out.position() - start - HEADER_BYTES);
+    }
+
+    // Largest Tick Message the Board Could Produce, for sizing buffers
+    static int maxTickBytes(MultiplayerBoard board, int leftCount) {
+        int snakes = board.getHighestId() + 1;
+        int perSnake = 3 + (3 + 1 + MAX_NAME_BYTES) + 3 + 8 + 7; // Move, join, die, spawn, score
+        return HEADER_BYTES + 15 + snakes * perSnake + leftCount * 3 + board.getFoodCount() * 7 + 5;
+    }
+
+    // Largest Snapshot the Board Could Produce
+    static int maxSnapshotBytes(MultiplayerBoard board) {
+        long bytes = HEADER_BYTES + 19 + 4L * board.getFoodCount() + 4;
+        for (int id = 0; id <= board.getHighestId(); id++) {
+            MultiplayerBoard.Snake snake = board.getSnake(id);
+            if (snake != null) {
+                bytes += 2 + 1 + MAX_NAME_BYTES + 14 + 4L * snake.body.size();
+            }
+        }
+        return (int) Math.min(bytes, MAX_MESSAGE_BYTES);
+    }
+
+    static void putName(ByteBuffer out, String name) {
+        byte[] bytes = nameBytes(name);
+        out.put((byte) bytes.length).put(bytes);
+    }
+
+    static String getName(ByteBuffer in) {
+        byte[] bytes = new byte[in.get() & 0xFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // UTF-8 Name Cut to MAX_NAME_BYTES on a character boundary
+    private static byte[] nameBytes(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return bytes;
+        }
+        int length = MAX_NAME_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--; // Back up to the start of the cut character
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+}
@@ -0,0 +1,281 @@
+package snake;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.*;
+
+// Client for a SnakeServer: shows the shared board as the server reports it and sends the arrow
+// keys as turns. All rules run on the server; a reader thread applies its messages to a
+// RemoteBoard, and the window repaints it with the camera on the player's own snake. The reader
+// thread also connects and joins, so the window shows "Joining..." instead of the EDT waiting on
+// the network.
+// Run with: java snake.NetworkGame host [port] [name]
+public class NetworkGame extends JPanel implements KeyListener {
+    static final int TILE_SIZE = SnakeGame.TILE_SIZE;
+    static final Font HUD_FONT = SnakeGame.HUD_FONT;
+
+    private final RemoteBoard board = new RemoteBoard(); // Locked by the reader thread and painting
+    private final SocketChannel channel;
+    private final InetSocketAddress address;
+    private final String name;
+    private final ExecutorService sender; // Writes turns off the EDT, in key order
+    private final int boardWidth;
+    private final int boardHeight;
+    private volatile boolean connected = true;
+
+    // Camera: board pixel at the window's top-left corner (EDT only)
+    private int cameraX;
+    private int cameraY;
+
+    // Constructor; connects and joins under the given name in the background
+    public NetworkGame(String host, int port, String name, int boardWidth, int boardHeight) throws IOException {
+        this.address = InetSocketAddress.createUnresolved(host, port);
+        this.name = name;
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        setPreferredSize(new Dimension(boardWidth, boardHeight));
+        setBackground(Color.black);
+        setFocusable(true);
+        addKeyListener(this);
+
+        channel = SocketChannel.open(); // Unconnected until the reader thread connects it
+        sender = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Snake Sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread reader = new Thread(this::readMessages, "Snake Reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        new Timer(1000 / SnakeGame.DEFAULT_RENDER_RATE, e -> repaint()).start();
+    }
+
+    // Connect and Join, then Apply Server Messages until the Connection Closes (reader thread)
+    private void readMessages() {
+        try {
+            channel.connect(new InetSocketAddress(address.getHostString(), address.getPort())); // Resolves here too
+            channel.socket().setTcpNoDelay(true);
+            ByteBuffer hello = ByteBuffer.allocate(64);
+            NetProtocol.writeHello(hello, name);
+            hello.flip();
+            while (hello.hasRemaining()) {
+                channel.write(hello);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not connect to " + address.getHostString() + ":" + address.getPort() + ".");
+            e.printStackTrace();
+            connected = false;
+            return;
+        }
+        ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+        try {
+            while (true) {
+                while (in.position() < NetProtocol.HEADER_BYTES) {
+                    fill(in);
+                }
+                int length = in.getInt(0);
+                if (length < 1 || length > NetProtocol.MAX_MESSAGE_BYTES) {
+                    throw new IOException("Bad message length " + length);
+                }
+                if (in.capacity() < NetProtocol.HEADER_BYTES + length) {
+                    ByteBuffer grown = ByteBuffer.allocate(NetProtocol.HEADER_BYTES + length);
+                    in.flip();
+                    grown.put(in);
+                    in = grown;
+                }
+                while (in.position() < NetProtocol.HEADER_BYTES + length) {
+                    fill(in);
+                }
+                in.flip();
+                ByteBuffer message = in.slice(NetProtocol.HEADER_BYTES, length);
+                synchronized (board) {
+                    board.apply(message);
+                }
+                in.position(NetProtocol.HEADER_BYTES + length);
+                in.compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Disconnected from the server.");
+            e.printStackTrace();
+        } finally {
+            connected = false;
+        }
+    }
+
+    private void fill(ByteBuffer in) throws IOException {
+        if (channel.read(in) < 0) {
+            throw new EOFException("Server closed the connection");
+        }
+    }
+
+    // Send a Turn to the Server (dropped until the connection is made)
+    private void sendTurn(Direction direction) {
+        if (!channel.isConnected()) {
+            return;
+        }
+        sender.execute(() -> {
+            ByteBuffer input = ByteBuffer.allocate(8);
+            NetProtocol.writeInput(input, direction);
+            input.flip();
+            try {
+                while (input.hasRemaining()) {
+                    channel.write(input);
+                }
+            } catch (IOException e) {
+                connected = false;
+            }
+        });
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        synchronized (board) {
+            if (!board.isJoined()) {
+                drawMessage(g, connected ? "Joining..." : "Could not join the server");
+                return;
+            }
+            RemoteBoard.RemoteSnake own = board.getSnake(board.getPlayerId());
+            if (own != null && own.alive) {
+                cameraX = Viewport.cameraFor(own.head % board.getColumns() * TILE_SIZE + TILE_SIZE / 2, board.getColumns() * TILE_SIZE, boardWidth);
+                cameraY = Viewport.cameraFor(own.head / board.getColumns() * TILE_SIZE + TILE_SIZE / 2, board.getRows() * TILE_SIZE, boardHeight);
+            }
+            Viewport.drawVisibleGrid(g, board.getColumns(), board.getRows(), TILE_SIZE, cameraX, cameraY, boardWidth, boardHeight);
+
+            g.setColor(Color.red);
+            for (int slot = 0; slot < board.getFoodCount(); slot++) {
+                drawCell(g, board.getFood(slot));
+            }
+            g.setColor(Color.orange);
+            drawCell(g, board.getSpecialFood());
+
+            for (int id = 0; id <= board.getHighestId(); id++) {
+                RemoteBoard.RemoteSnake snake = board.getSnake(id);
+                if (snake == null || !snake.alive) {
+                    continue;
+                }
+                Color color = colorFor(id);
+                g.setColor(color.brighter());
+                drawCell(g, snake.head);
+                g.setColor(color);
+                for (int i = 0; i < snake.body.size(); i++) {
+                    drawCell(g, snake.body.get(i));
+                }
+            }
+            drawHud(g, own);
+        }
+        if (!connected) {
+            drawMessage(g, "Disconnected");
+        }
+    }
+
+    // Fill One Tile if It Is in View (cells off the board, -1, are skipped)
+    private void drawCell(Graphics g, int cell) {
+        if (cell < 0) {
+            return;
+        }
+        int x = cell % board.getColumns() * TILE_SIZE - cameraX;
+        int y = cell / board.getColumns() * TILE_SIZE - cameraY;
+        if (x > -TILE_SIZE && x < boardWidth && y > -TILE_SIZE && y < boardHeight) {
+            g.fill3DRect(x, y, TILE_SIZE, TILE_SIZE, true);
+        }
+    }
+
+    private void drawHud(Graphics g, RemoteBoard.RemoteSnake own) {
+        g.setFont(HUD_FONT);
+        g.setColor(Color.white);
+        if (own != null) {
+            g.drawString("Score: " + own.score, 10, 20);
+            if (!own.alive) {
+                g.drawString("Respawning...", 10, 40);
+            }
+        }
+        String players = "Players: " + countPlayers();
+        g.drawString(players, boardWidth - g.getFontMetrics().stringWidth(players) - 10, 20);
+    }
+
+    private int countPlayers() {
+        int count = 0;
+        for (int id = 0; id <= board.getHighestId(); id++) {
+            if (board.getSnake(id) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void drawMessage(Graphics g, String message) {
+        g.setFont(SnakeGame.MENU_FONT);
+        g.setColor(Color.white);
+        g.drawString(message, (boardWidth - g.getFontMetrics().stringWidth(message)) / 2, boardHeight / 2);
+    }
+
+    // Distinct Color for Each Player Id
+    private static Color colorFor(int id) {
+        return Color.getHSBColor((id * 0.618034f) % 1f, 0.8f, 0.9f);
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_UP:
+                sendTurn(Direction.UP);
+                break;
+            case KeyEvent.VK_DOWN:
+                sendTurn(Direction.DOWN);
+                break;
+            case KeyEvent.VK_LEFT:
+                sendTurn(Direction.LEFT);
+                break;
+            case KeyEvent.VK_RIGHT:
+                sendTurn(Direction.RIGHT);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java snake.NetworkGame host [port] [name]");
+            System.exit(2);
+        }
+        String host = args[0];
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : SnakeServer.DEFAULT_PORT;
+        String name = args.length > 2 ? args[2] : System.getProperty("user.name", "Player");
+
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Snake - " + host + ":" + port);
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setResizable(false);
+            try {
+                NetworkGame game = new NetworkGame(host, port, name, 600, 600);
+                frame.add(game);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                game.requestFocus();
+            } catch (IOException e) {
+                System.err.println("Could not open a socket.");
+                e.printStackTrace();
+                System.exit(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,200 @@
+package snake;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Performance Monitor for the game loop: histograms of simulation time per tick, paint time per
+// frame, tick interval drift (how far the actual time between ticks strays from the
+// difficulty's tick length) and input lag from key press to the tick that applies it, plus
+// garbage collections since the last reset. Recording is always
+// on and allocation-free; a JDK Flight Recorder event is only created while a recording enables
+// it. Ticks are recorded on the game loop thread and paints on the EDT.
+// Flight Recorder and the management beans take a few hundred classes to start, so neither is
+// touched while the first frame is drawn: the event types are looked up by a background thread
+// (no events are created until then), and the collectors on the first reset.
+public class PerfMonitor {
+    private static volatile EventTypes eventTypes; // null until looked up
+
+    static {
+        Thread lookup = new Thread(() -> eventTypes = new EventTypes(), "PerfMonitor Event Types");
+        lookup.setDaemon(true);
+        lookup.setPriority(Thread.MIN_PRIORITY);
+        lookup.start();
+    }
+
+    private final LatencyHistogram simulation = new LatencyHistogram();
+    private final LatencyHistogram paint = new LatencyHistogram();
+    private final LatencyHistogram drift = new LatencyHistogram();
+    private final LatencyHistogram input = new LatencyHistogram();
+    private GarbageCollectorMXBean[] collectors; // null until the first reset
+    private long baseCollections;
+    private long baseCollectionMillis;
+
+    // Constructor; collections count from the JVM start until the first reset
+    public PerfMonitor() {
+    }
+
+    // Record One Tick: time spent simulating, time since the previous tick started (0 for the
+    // first tick after a start) and the tick length the loop was aiming for
+    public void recordTick(long simulationNanos, long intervalNanos, long intendedNanos) {
+        simulation.record(simulationNanos);
+        long driftNanos = intervalNanos > 0 ? Math.abs(intervalNanos - intendedNanos) : 0;
+        if (intervalNanos > 0) {
+            drift.record(driftNanos);
+        }
+        EventTypes types = eventTypes;
+        if (types != null && types.tick.isEnabled()) {
+            TickEvent event = new TickEvent();
+            event.simulation = simulationNanos;
+            event.interval = intervalNanos;
+            event.drift = driftNanos;
+            event.commit();
+        }
+    }
+
+    // Record One Frame's paintComponent Time
+    public void recordPaint(long paintNanos) {
+        paint.record(paintNanos);
+        EventTypes types = eventTypes;
+        if (types != null && types.paint.isEnabled()) {
+            PaintEvent event = new PaintEvent();
+            event.paint = paintNanos;
+            event.commit();
+        }
+    }
+
+    // Record One Key Press Applied to the Snake, from the press to the tick that applied it
+    public void recordInput(long lagNanos) {
+        input.record(lagNanos);
+        EventTypes types = eventTypes;
+        if (types != null && types.input.isEnabled()) {
+            InputEvent event = new InputEvent();
+            event.lag = lagNanos;
+            event.commit();
+        }
+    }
+
+    // Start Over, e.g. when a game starts; call while the game loop is not ticking
+    public void reset() {
+        simulation.reset();
+        paint.reset();
+        drift.reset();
+        input.reset();
+        baseCollections = totalCollections();
+        baseCollectionMillis = totalCollectionMillis();
+    }
+
+    public LatencyHistogram getSimulation() {
+        return simulation;
+    }
+
+    public LatencyHistogram getPaint() {
+        return paint;
+    }
+
+    public LatencyHistogram getDrift() {
+        return drift;
+    }
+
+    public LatencyHistogram getInput() {
+        return input;
+    }
+
+    // Garbage Collections since the Last Reset, across all collectors
+    public long getCollections() {
+        return totalCollections() - baseCollections;
+    }
+
+    // Milliseconds Spent in Garbage Collection since the Last Reset
+    public long getCollectionMillis() {
+        return totalCollectionMillis() - baseCollectionMillis;
+    }
+
+    private GarbageCollectorMXBean[] collectors() {
+        if (collectors == null) {
+            List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+            collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        }
+        return collectors;
+    }
+
+    private long totalCollections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors()) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    private long totalCollectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    // Flight Recorder Event Types
+    private static final class EventTypes {
+        final EventType tick = EventType.getEventType(TickEvent.class);
+        final EventType paint = EventType.getEventType(PaintEvent.class);
+        final EventType input = EventType.getEventType(InputEvent.class);
+    }
+
+    // Flight Recorder Event for One Game Loop Tick
+    @Name("snake.Tick")
+    @Label("Snake Tick")
+    @Category("Snake")
+    @Description("One simulation tick of the game loop")
+    @StackTrace(false)
+    static class TickEvent extends Event {
+        @Label("Simulation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long simulation;
+
+        @Label("Tick Interval")
+        @Description("Time since the previous tick started, 0 for the first tick")
+        @Timespan(Timespan.NANOSECONDS)
+        long interval;
+
+        @Label("Drift")
+        @Description("Distance between the tick interval and the difficulty's tick length")
+        @Timespan(Timespan.NANOSECONDS)
+        long drift;
+    }
+
+    // Flight Recorder Event for One Painted Frame
+    @Name("snake.Paint")
+    @Label("Snake Paint")
+    @Category("Snake")
+    @Description("One paintComponent call of the game panel")
+    @StackTrace(false)
+    static class PaintEvent extends Event {
+        @Label("Paint Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long paint;
+    }
+
+    // Flight Recorder Event for One Key Press Applied to the Snake
+    @Name("snake.Input")
+    @Label("Snake Input")
+    @Category("Snake")
+    @Description("An arrow key press applied by a game loop tick")
+    @StackTrace(false)
+    static class InputEvent extends Event {
+        @Label("Input Lag")
+        @Description("Time from the key press to the tick that turned the snake")
+        @Timespan(Timespan.NANOSECONDS)
+        long lag;
+    }
+}
@@ -0,0 +1,79 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Performance Overlay: a translucent panel listing the monitor's tick, paint, drift and input
+// lag percentiles and the garbage collections since the game started. The text is re-rendered into
+// a cached image a few times a second rather than every frame, so the overlay costs one blit per
+// frame while shown and nothing while hidden.
+public class PerfOverlay {
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color PANEL_COLOR = new Color(0, 0, 0, 170);
+    private static final long REFRESH_NANOS = 250_000_000L;
+    private static final int PADDING = 6;
+
+    private final PerfMonitor monitor;
+    private final GameLoop gameLoop;
+    private BufferedImage image;
+    private long renderedAt;
+
+    // Constructor
+    public PerfOverlay(PerfMonitor monitor, GameLoop gameLoop) {
+        this.monitor = monitor;
+        this.gameLoop = gameLoop;
+    }
+
+    // Draw the Panel with its top-left corner at (x, y)
+    public void draw(Graphics g, int x, int y) {
+        long now = System.nanoTime();
+        if (image == null || now - renderedAt >= REFRESH_NANOS) {
+            render(g);
+            renderedAt = now;
+        }
+        g.drawImage(image, x, y, null);
+    }
+
+    private void render(Graphics g) {
+        String[] lines = {
+                "              p50       p99       max",
+                row("Tick", monitor.getSimulation()),
+                row("Paint", monitor.getPaint()),
+                row("Drift", monitor.getDrift()),
+                row("Input", monitor.getInput()),
+                String.format("GC     %d collections, %d ms", monitor.getCollections(), monitor.getCollectionMillis()),
+                String.format("Loop   %d ticks of %d ms, %d late, %d skipped", gameLoop.getTickCount(),
+                        gameLoop.getTickNanos() / 1_000_000, gameLoop.getLateTicks(), gameLoop.getSkippedTicks())
+        };
+        FontMetrics metrics = g.getFontMetrics(FONT);
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        width += 2 * PADDING;
+        int height = lines.length * metrics.getHeight() + 2 * PADDING;
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            GraphicsConfiguration config = ((Graphics2D) g).getDeviceConfiguration();
+            image = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g2d = image.createGraphics();
+        g2d.setComposite(AlphaComposite.Src); // Replace the previous contents
+        g2d.setColor(PANEL_COLOR);
+        g2d.fillRect(0, 0, width, height);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        g2d.setFont(FONT);
+        g2d.setColor(Color.green);
+        int baseline = PADDING + metrics.getAscent();
+        for (String line : lines) {
+            g2d.drawString(line, PADDING, baseline);
+            baseline += metrics.getHeight();
+        }
+        g2d.dispose();
+    }
+
+    // One Histogram Row in Microseconds
+    private static String row(String name, LatencyHistogram histogram) {
+        return String.format("%-6s %9.1f %9.1f %9.1f  us", name, histogram.percentile(50) / 1e3,
+                histogram.percentile(99) / 1e3, histogram.getMax() / 1e3);
+    }
+}
@@ -0,0 +1,47 @@
+package snake;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+// Random Numbers and Random Free Cells, shared by the engines. SplitMix64 is for state kept
+// outside a generator object (in an int[] snapshot, or one long per game), and the free-cell
+// search is the rejection sampling every board uses for food and spawns.
+final class RandomCells {
+    static final int MAX_SAMPLES = 64; // Random tries before scanning for a free cell
+    static final long GAMMA = 0x9E3779B97F4A7C15L; // SplitMix64 state increment per number
+
+    private RandomCells() {
+    }
+
+    // SplitMix64 Finalizer: a well-mixed hash of a 64-bit value
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Number from 0 to bound - 1 for a SplitMix64 state already advanced by GAMMA, by
+    // multiplying out the high 32 bits of its mix
+    static int nextInt(long state, int bound) {
+        return (int) (((mix(state) >>> 32) * bound) >>> 32);
+    }
+
+    // Uniformly Random Free Cell of cells, or -1 if none is free: random tries first, then, if
+    // the board is so full that every try misses, a scan from a random start
+    static int randomFreeCell(int cells, IntUnaryOperator nextInt, IntPredicate isFree) {
+        for (int attempt = 0; attempt < MAX_SAMPLES; attempt++) {
+            int cell = nextInt.applyAsInt(cells);
+            if (isFree.test(cell)) {
+                return cell;
+            }
+        }
+        int first = nextInt.applyAsInt(cells);
+        for (int i = 0; i < cells; i++) {
+            int cell = first + i < cells ? first + i : first + i - cells;
+            if (isFree.test(cell)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,203 @@
+package snake;
+
+import java.nio.ByteBuffer;
+
+// Client-Side Copy of a Server's MultiplayerBoard, rebuilt from the join snapshot and then kept
+// in step by applying each TICK delta: a move adds the old head to the body and drops the tail
+// unless the snake grew, exactly as the server did. Not thread-safe; callers that render on
+// another thread lock on the board.
+public class RemoteBoard {
+    // One Snake as Last Reported by the Server
+    static final class RemoteSnake {
+        final int id;
+        String name;
+        SnakeBody body;
+        int head = -1; // Cell, -1 while dead
+        Direction direction = Direction.RIGHT;
+        int score;
+        boolean alive;
+
+        RemoteSnake(int id, String name, int columns, int rows) {
+            this.id = id;
+            this.name = name;
+            body = new SnakeBody(columns, rows);
+        }
+    }
+
+    private int columns;
+    private int rows;
+    private int tickMillis;
+    private int playerId = -1;
+    private long tick;
+    private final RemoteSnake[] snakes = new RemoteSnake[MultiplayerBoard.MAX_PLAYERS];
+    private int highestId = -1;
+    private int[] food = new int[0];
+    private int specialFood = -1;
+
+    // Apply One Server Message (the bytes after its length); returns false for unknown types
+    public boolean apply(ByteBuffer message) {
+        byte type = message.get();
+        if (type == NetProtocol.SNAPSHOT) {
+            applySnapshot(message);
+            return true;
+        } else if (type == NetProtocol.TICK && playerId >= 0) {
+            applyTick(message);
+            return true;
+        }
+        return false;
+    }
+
+    private void applySnapshot(ByteBuffer in) {
+        tick = in.getLong();
+        columns = in.getShort() & 0xFFFF;
+        rows = in.getShort() & 0xFFFF;
+        tickMillis = in.getShort() & 0xFFFF;
+        playerId = in.getShort() & 0xFFFF;
+        for (int id = 0; id <= highestId; id++) {
+            snakes[id] = null;
+        }
+        highestId = -1;
+        int count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int id = in.getShort() & 0xFFFF;
+            RemoteSnake snake = new RemoteSnake(id, NetProtocol.getName(in), columns, rows);
+            snake.alive = in.get() != 0;
+            snake.direction = NetProtocol.direction(in.get());
+            snake.score = in.getInt();
+            snake.head = in.getInt();
+            int length = in.getInt();
+            int[] cells = new int[length];
+            for (int j = 0; j < length; j++) {
+                cells[j] = in.getInt();
+            }
+            for (int j = length - 1; j >= 0; j--) {
+                snake.body.addFirst(cells[j]); // Tail first, so the neck ends up in front
+            }
+            put(snake);
+        }
+        food = new int[in.getShort() & 0xFFFF];
+        for (int slot = 0; slot < food.length; slot++) {
+            food[slot] = in.getInt();
+        }
+        specialFood = in.getInt();
+    }
+
+    private void applyTick(ByteBuffer in) {
+        tick = in.getLong();
+        int moves = in.getShort() & 0xFFFF;
+        for (int i = 0; i < moves; i++) {
+            RemoteSnake snake = snakes[in.getShort() & 0xFFFF];
+            int bits = in.get();
+            snake.direction = NetProtocol.direction(bits);
+            snake.body.addFirst(snake.head);
+            snake.head += snake.direction.dx + snake.direction.dy * columns;
+            if ((bits & NetProtocol.GREW_BIT) == 0) {
+                snake.body.removeLast();
+            }
+        }
+        int events = in.getInt();
+        for (int i = 0; i < events; i++) {
+            byte kind = in.get();
+            if (kind == NetProtocol.LEAVE) {
+                int id = in.getShort() & 0xFFFF;
+                snakes[id] = null;
+                while (highestId >= 0 && snakes[highestId] == null) {
+                    highestId--;
+                }
+            } else if (kind == NetProtocol.JOIN) {
+                int id = in.getShort() & 0xFFFF;
+                put(new RemoteSnake(id, NetProtocol.getName(in), columns, rows));
+            } else if (kind == NetProtocol.DIE) {
+                RemoteSnake snake = snakes[in.getShort() & 0xFFFF];
+                snake.body.clear();
+                snake.alive = false;
+                snake.head = -1;
+            } else if (kind == NetProtocol.SPAWN) {
+                RemoteSnake snake = snakes[in.getShort() & 0xFFFF];
+                snake.head = in.getInt();
+                snake.direction = NetProtocol.direction(in.get());
+                snake.alive = true;
+            } else if (kind == NetProtocol.SCORE) {
+                snakes[in.getShort() & 0xFFFF].score = in.getInt();
+            } else if (kind == NetProtocol.FOOD) {
+                food[in.getShort() & 0xFFFF] = in.getInt();
+            } else if (kind == NetProtocol.SPECIAL) {
+                specialFood = in.getInt();
+            } else {
+                throw new IllegalStateException("Unknown tick event " + kind);
+            }
+        }
+    }
+
+    private void put(RemoteSnake snake) {
+        snakes[snake.id] = snake;
+        highestId = Math.max(highestId, snake.id);
+    }
+
+    // Fingerprint of the Board, equal to MultiplayerBoard's when both hold the same state
+    public long checksum() {
+        long hash = tick;
+        for (int id = 0; id <= highestId; id++) {
+            RemoteSnake snake = snakes[id];
+            if (snake == null) {
+                continue;
+            }
+            hash = hash * 31 + id;
+            hash = hash * 31 + (snake.alive ? snake.head : -1);
+            hash = hash * 31 + snake.score;
+            for (int i = 0; i < snake.body.size(); i++) {
+                hash = hash * 31 + snake.body.get(i);
+            }
+        }
+        for (int cell : food) {
+            hash = hash * 31 + cell;
+        }
+        return hash * 31 + specialFood;
+    }
+
+    // Getters
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isJoined() {
+        return playerId >= 0;
+    }
+
+    int getHighestId() {
+        return highestId;
+    }
+
+    // Snake with the Given Id, or null
+    RemoteSnake getSnake(int id) {
+        return id >= 0 && id <= highestId ? snakes[id] : null;
+    }
+
+    int getFoodCount() {
+        return food.length;
+    }
+
+    int getFood(int slot) {
+        return food[slot];
+    }
+
+    int getSpecialFood() {
+        return specialFood;
+    }
+}
@@ -0,0 +1,248 @@
+package snake;
+
+import java.awt.Component;
+import java.io.*;
+import java.util.Arrays;
+import java.util.Random;
+import javax.swing.*;
+
+// Recorded Game: the engine is deterministic given its seed and the input passed to each step,
+// so a replay stores only the seed, the game settings and the ticks where a direction was pressed.
+// Each press is one varint of (ticks since the previous press << 2 | direction), which is a single
+// byte whenever presses are less than 32 ticks apart.
+//
+// File layout (big-endian): magic "SNRP", u8 version, i64 seed, u16 columns, u16 rows,
+// u8 difficulty, u8 snake type, i32 ticks, i32 score, i32 presses, i32 input bytes, input bytes.
+public class Replay {
+    static final int MAGIC = 0x534E5250; // "SNRP"
+    static final int VERSION = 1;
+    private static final Direction[] CODES = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    final long seed;
+    final int columns;
+    final int rows;
+    final SnakeGame.Difficulty difficulty;
+    final SnakeGame.SnakeType snakeType;
+
+    // Outcome, set by finish()
+    long ticks;
+    int score;
+
+    // Delta-Encoded Presses
+    private byte[] inputs = new byte[64];
+    private int inputLength;
+    private int presses;
+    private long lastTick;
+
+    // Constructor
+    public Replay(long seed, int columns, int rows, SnakeGame.Difficulty difficulty, SnakeGame.SnakeType snakeType) {
+        this.seed = seed;
+        this.columns = columns;
+        this.rows = rows;
+        this.difficulty = difficulty;
+        this.snakeType = snakeType;
+    }
+
+    // Record the Input Passed to the Engine on the Given Tick (1 for the first step); NONE is skipped
+    public void record(long tick, Direction input) {
+        if (input == Direction.NONE) {
+            return;
+        }
+        writeVarint((tick - lastTick) << 2 | code(input));
+        lastTick = tick;
+        presses++;
+    }
+
+    // Record How the Game Ended
+    public void finish(long ticks, int score) {
+        this.ticks = ticks;
+        this.score = score;
+    }
+
+    public int getPresses() {
+        return presses;
+    }
+
+    public int getInputBytes() {
+        return inputLength;
+    }
+
+    private static int code(Direction direction) {
+        return direction.ordinal() - Direction.UP.ordinal();
+    }
+
+    private void writeVarint(long value) {
+        while (true) {
+            if (inputLength == inputs.length) {
+                inputs = Arrays.copyOf(inputs, inputs.length * 2);
+            }
+            if ((value & ~0x7FL) == 0) {
+                inputs[inputLength++] = (byte) value;
+                return;
+            }
+            inputs[inputLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+    }
+
+    // Reads the Inputs Back Tick by Tick
+    public final class Cursor {
+        private int position;
+        private long nextTick;
+        private Direction nextInput;
+
+        Cursor() {
+            advance(0);
+        }
+
+        // Input to Pass to the Engine on the Given Tick; ticks must be asked for in increasing order
+        public Direction next(long tick) {
+            if (nextInput == null || tick < nextTick) {
+                return Direction.NONE;
+            }
+            Direction input = nextInput;
+            advance(nextTick);
+            return input;
+        }
+
+        private void advance(long fromTick) {
+            if (position >= inputLength) {
+                nextInput = null;
+                return;
+            }
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = inputs[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            nextTick = fromTick + (value >>> 2);
+            nextInput = CODES[(int) (value & 3)];
+        }
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Re-Run the Game Headless as Fast as Possible; returns the engine in its final state
+    public SnakeEngine simulate() {
+        SnakeEngine engine = new SnakeEngine(columns, rows, new Random());
+        engine.reset(seed);
+        Cursor cursor = cursor();
+        while (!engine.isGameOver() && engine.getTick() < ticks) {
+            engine.step(cursor.next(engine.getTick() + 1));
+        }
+        return engine;
+    }
+
+    // Check That Re-Running the Inputs Reproduces the Recorded Ending
+    public boolean verify() {
+        SnakeEngine engine = simulate();
+        return engine.getTick() == ticks && engine.getScore() == score;
+    }
+
+    // Save and Load
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeShort(columns);
+        out.writeShort(rows);
+        out.writeByte(difficulty.ordinal());
+        out.writeByte(snakeType.ordinal());
+        out.writeInt((int) ticks);
+        out.writeInt(score);
+        out.writeInt(presses);
+        out.writeInt(inputLength);
+        out.write(inputs, 0, inputLength);
+        out.flush();
+    }
+
+    public static Replay read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        long seed = in.readLong();
+        int columns = in.readUnsignedShort();
+        int rows = in.readUnsignedShort();
+        int difficultyOrdinal = in.readUnsignedByte();
+        int snakeTypeOrdinal = in.readUnsignedByte();
+        if (columns <= SnakeEngine.START_X || rows <= SnakeEngine.START_Y || (long) columns * rows > SnakeEngine.MAX_CELLS
+                || difficultyOrdinal >= SnakeGame.Difficulty.values().length
+                || snakeTypeOrdinal >= SnakeGame.SnakeType.values().length) {
+            throw new IOException("Replay is corrupt");
+        }
+        SnakeGame.Difficulty difficulty = SnakeGame.Difficulty.values()[difficultyOrdinal];
+        SnakeGame.SnakeType snakeType = SnakeGame.SnakeType.values()[snakeTypeOrdinal];
+        Replay replay = new Replay(seed, columns, rows, difficulty, snakeType);
+        replay.ticks = in.readInt() & 0xFFFFFFFFL;
+        replay.score = in.readInt();
+        replay.presses = in.readInt();
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Replay is corrupt");
+        }
+        replay.inputs = new byte[Math.max(1, length)];
+        in.readFully(replay.inputs, 0, length);
+        replay.inputLength = length;
+        return replay;
+    }
+
+    public void save(File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(out);
+        }
+    }
+
+    public static Replay load(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    // Verify a Replay Headless at Full Speed, optionally then watch it: java Replay [file] [watch]
+    public static void main(String[] args) throws Exception {
+        Replay replay = load(new File(args.length > 0 ? args[0] : SnakeGame.LAST_REPLAY_FILE));
+        System.out.printf("%s %s on %dx%d, seed %d: %d ticks, score %d, %d presses in %d bytes%n",
+                replay.snakeType, replay.difficulty, replay.columns, replay.rows, replay.seed,
+                replay.ticks, replay.score, replay.presses, replay.inputLength);
+
+        long start = System.nanoTime();
+        SnakeEngine engine = replay.simulate();
+        double millis = (System.nanoTime() - start) / 1e6;
+        boolean valid = engine.getTick() == replay.ticks && engine.getScore() == replay.score;
+        System.out.printf("Re-simulated in %.2f ms: %s (ticks %d, score %d)%n", millis,
+                valid ? "score verified" : "MISMATCH", engine.getTick(), engine.getScore());
+
+        if (args.length > 1 && args[1].equals("watch")) {
+            // The game's own window, scrolling with the head when the replay's board is larger
+            int boardWidth = App.BOARD_WIDTH;
+            int boardHeight = App.BOARD_HEIGHT;
+            JFrame frame = new JFrame("Snake Replay");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setResizable(false);
+            AssetLoader.Assets assets = new AssetLoader(boardWidth, boardHeight, (bytes, total, loaded, count) -> { }).load().join();
+            SwingUtilities.invokeLater(() -> {
+                SnakeGame snakeGame = new SnakeGame(boardWidth, boardHeight, frame, assets);
+                frame.add(snakeGame);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                Component focus = snakeGame.canvas != null ? snakeGame.canvas : snakeGame;
+                focus.requestFocusInWindow(); // The canvas takes the keys when there is one
+                snakeGame.watchReplay(replay);
+            });
+        } else if (!valid) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package snake;
+
+import java.util.Arrays;
+
+// Rollback Netcode for a DuelEngine: the local player's input is applied the frame it is
+// pressed, and the other player's input, still on its way, is predicted to be no turn, which
+// is what a snake does most frames. When the real input arrives and differs from the
+// prediction, the game is restored to its snapshot from before that frame and simulated again
+// up to the present with the inputs now known, within the same frame, so the local player never
+// waits for the network. Every frame is snapshotted before it is simulated, into one of
+// SNAPSHOTS preallocated arrays; nothing is allocated per frame.
+//
+// A peer runs at most MAX_ROLLBACK frames ahead of the last frame it has the other player's
+// input for; beyond that advance() stalls until inputs arrive. Once a frame's inputs are all
+// known its state is final, and the peers exchange checksums of final frames to detect a desync.
+// Not thread-safe; a peer calls it from one thread.
+public class RollbackSession {
+    static final int MAX_ROLLBACK = 16; // Frames simulated ahead of the other player's inputs
+    static final int SNAPSHOTS = MAX_ROLLBACK + 2; // States kept, enough to rewind to any unconfirmed frame
+    // Frames of inputs and checksums kept: each peer runs up to MAX_ROLLBACK + 1 frames past the
+    // other's inputs, so the other may still need our inputs from twice that far back
+    static final int HISTORY = 4 * MAX_ROLLBACK;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final DuelEngine engine;
+    private final int localPlayer;
+    private final int[][] snapshots = new int[SNAPSHOTS][]; // State before each frame
+    private final byte[] localInputs = new byte[HISTORY];
+    private final byte[] remoteInputs = new byte[HISTORY];
+    private final int[] remoteFrames = new int[HISTORY]; // Frame each remote input is for, -1 for none
+    private final byte[] usedInputs = new byte[HISTORY]; // Remote input each frame was simulated with
+    private final long[] checksums = new long[HISTORY]; // State after each frame
+
+    private int frame; // Next frame to simulate
+    private int confirmedFrame = -1; // Last frame with the remote input known for it and every earlier one
+    private int rollbackFrame = Integer.MAX_VALUE; // Earliest frame simulated with a wrong prediction
+
+    // Checksum from the other peer, checked once that frame is final here
+    private int remoteCheckFrame = -1;
+    private long remoteChecksum;
+
+    // Statistics
+    private long rollbacks;
+    private long resimulatedFrames;
+    private int maxRollback;
+    private long stalls;
+    private long checks;
+    private long desyncs;
+    private long rollbackNanos;
+    private long maxRollbackNanos;
+
+    // Constructor
+    public RollbackSession(DuelEngine engine, int localPlayer) {
+        if (localPlayer < 0 || localPlayer >= DuelEngine.PLAYERS) {
+            throw new IllegalArgumentException("Invalid player " + localPlayer);
+        }
+        this.engine = engine;
+        this.localPlayer = localPlayer;
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            snapshots[i] = new int[engine.stateSize()];
+        }
+        Arrays.fill(remoteFrames, -1);
+        frame = engine.getFrame();
+        confirmedFrame = frame - 1;
+    }
+
+    // Simulate the Next Frame with the Local Input; returns false (and simulates nothing) while
+    // too far ahead of the other player, so the caller tries again next frame
+    public boolean advance(Direction input) {
+        rollBack();
+        if (frame - confirmedFrame > MAX_ROLLBACK) {
+            stalls++;
+            return false;
+        }
+        localInputs[frame % HISTORY] = (byte) input.ordinal();
+        simulate(frame);
+        frame++;
+        return true;
+    }
+
+    // Take the Other Player's Input for a Frame, in any order and any number of times
+    public void receive(int inputFrame, Direction input) {
+        if (inputFrame <= confirmedFrame || inputFrame >= Math.min(confirmedFrame + 1, frame) + HISTORY) {
+            return; // Already known, or too far ahead to keep
+        }
+        int slot = inputFrame % HISTORY;
+        if (remoteFrames[slot] == inputFrame) {
+            return;
+        }
+        remoteFrames[slot] = inputFrame;
+        remoteInputs[slot] = (byte) input.ordinal();
+        if (inputFrame < frame && usedInputs[slot] != remoteInputs[slot]) {
+            rollbackFrame = Math.min(rollbackFrame, inputFrame); // Simulated with a wrong prediction
+        }
+        while (remoteFrames[(confirmedFrame + 1) % HISTORY] == confirmedFrame + 1) {
+            confirmedFrame++;
+        }
+    }
+
+    // Take the Other Peer's Checksum of One of Its Final Frames
+    public void receiveChecksum(int checkFrame, long checksum) {
+        if (checkFrame > remoteCheckFrame) {
+            remoteCheckFrame = checkFrame;
+            remoteChecksum = checksum;
+        }
+        compareChecksum();
+    }
+
+    // Resimulate from the Earliest Mispredicted Frame, now that its input is known
+    private void rollBack() {
+        if (rollbackFrame >= frame) {
+            rollbackFrame = Integer.MAX_VALUE;
+            compareChecksum();
+            return;
+        }
+        long start = System.nanoTime();
+        int depth = frame - rollbackFrame;
+        engine.restore(snapshots[rollbackFrame % SNAPSHOTS]);
+        for (int f = rollbackFrame; f < frame; f++) {
+            simulate(f);
+        }
+        long nanos = System.nanoTime() - start;
+        rollbacks++;
+        resimulatedFrames += depth;
+        maxRollback = Math.max(maxRollback, depth);
+        rollbackNanos += nanos;
+        maxRollbackNanos = Math.max(maxRollbackNanos, nanos);
+        rollbackFrame = Integer.MAX_VALUE;
+        compareChecksum();
+    }
+
+    // Snapshot and Simulate One Frame with the local input and the known or predicted remote one
+    private void simulate(int f) {
+        int slot = f % HISTORY;
+        engine.save(snapshots[f % SNAPSHOTS]);
+        byte remote = remoteFrames[slot] == f ? remoteInputs[slot] : (byte) Direction.NONE.ordinal();
+        usedInputs[slot] = remote;
+        int local = localInputs[slot];
+        engine.step(localPlayer == 0 ? local | remote << 3 : remote | local << 3);
+        checksums[slot] = engine.checksum();
+    }
+
+    // Compare the Other Peer's Checksum once that frame is final here and still in the history
+    private void compareChecksum() {
+        int last = getFinalFrame();
+        if (remoteCheckFrame < 0 || remoteCheckFrame > last) {
+            return;
+        }
+        if (remoteCheckFrame > frame - HISTORY) {
+            checks++;
+            if (checksums[remoteCheckFrame % HISTORY] != remoteChecksum) {
+                desyncs++;
+                System.err.println("Desync at frame " + remoteCheckFrame + ": checksum " + Long.toHexString(checksums[remoteCheckFrame % HISTORY])
+                        + " here, " + Long.toHexString(remoteChecksum) + " on the other peer.");
+            }
+        }
+        remoteCheckFrame = -1;
+    }
+
+    // Last Frame Simulated with Every Input Known, whose state can no longer change
+    public int getFinalFrame() {
+        return rollbackFrame < frame ? Math.min(confirmedFrame, rollbackFrame - 1) : Math.min(confirmedFrame, frame - 1);
+    }
+
+    // Checksum of the State after a Final Frame still in the history
+    public long getChecksum(int finalFrame) {
+        return checksums[finalFrame % HISTORY];
+    }
+
+    // Local Input of a Frame still in the history, for sending
+    public Direction getLocalInput(int inputFrame) {
+        return DIRECTIONS[localInputs[inputFrame % HISTORY]];
+    }
+
+    // Getters
+    public DuelEngine getEngine() {
+        return engine;
+    }
+
+    public int getLocalPlayer() {
+        return localPlayer;
+    }
+
+    // Next Frame to Simulate; frames before it have local inputs
+    public int getFrame() {
+        return frame;
+    }
+
+    public int getConfirmedFrame() {
+        return confirmedFrame;
+    }
+
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    public long getResimulatedFrames() {
+        return resimulatedFrames;
+    }
+
+    public int getMaxRollback() {
+        return maxRollback;
+    }
+
+    public long getStalls() {
+        return stalls;
+    }
+
+    public long getChecks() {
+        return checks;
+    }
+
+    public long getDesyncs() {
+        return desyncs;
+    }
+
+    public long getRollbackNanos() {
+        return rollbackNanos;
+    }
+
+    public long getMaxRollbackNanos() {
+        return maxRollbackNanos;
+    }
+}
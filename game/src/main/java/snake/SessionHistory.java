@@ -0,0 +1,329 @@
+package snake;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Session History: every finished game is appended as one fixed-width record, and aggregate
+// queries scan the file through a read-only memory map without creating an object per record.
+//
+// Layout (little-endian): a 16-byte header (magic "SNSH", version, record size, reserved), then
+// RECORD_SIZE-byte records of i64 end time (epoch ms), i32 duration (ms), i32 score, u8 snake
+// type, u8 difficulty and two reserved bytes. Types and difficulties are stored by enum ordinal,
+// so new constants must only ever be added at the end.
+public class SessionHistory {
+    static final int MAGIC = 0x48534E53; // "SNSH" read little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 20;
+    private static final long MAX_MAP_SIZE = (Integer.MAX_VALUE / RECORD_SIZE) * (long) RECORD_SIZE;
+    static final int MAX_SCORE = SnakeEngine.MAX_CELLS; // A snake cannot outgrow the largest board; more is a corrupt record
+    static final int HISTOGRAM_SCORES = 1 << 16; // Scores counted exactly; higher ones share the last slot
+
+    // Record Field Offsets
+    private static final int ENDED_AT = 0;
+    private static final int DURATION = 8;
+    private static final int SCORE = 12;
+    private static final int SNAKE_TYPE = 16;
+    private static final int DIFFICULTY = 17;
+
+    static final int TYPES = SnakeGame.SnakeType.values().length;
+    static final int DIFFICULTIES = SnakeGame.Difficulty.values().length;
+
+    private final Path file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Session History");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    // Constructor
+    public SessionHistory(String filePath) {
+        this.file = Paths.get(filePath);
+    }
+
+    // Append a Finished Game in the Background
+    public CompletableFuture<Void> append(GameRecord game) {
+        return CompletableFuture.runAsync(() -> {
+            try (FileChannel channel = openForAppend()) {
+                record.clear();
+                record.putLong(game.getEndedAt());
+                record.putInt((int) Math.min(Integer.MAX_VALUE, game.getTime()));
+                record.putInt(game.getScore());
+                record.put((byte) SnakeGame.SnakeType.valueOf(game.getSnakeColor()).ordinal());
+                record.put((byte) SnakeGame.Difficulty.valueOf(game.getDifficulty()).ordinal());
+                record.putShort((short) 0);
+                record.flip();
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (Exception e) {
+                System.err.println("Error saving session history.");
+                e.printStackTrace();
+            }
+        }, executor);
+    }
+
+    // Open the File Positioned for the Next Record, writing the header if it is new and dropping
+    // any partial record left by a crash mid-write
+    private FileChannel openForAppend() throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                size = HEADER_SIZE;
+            } else {
+                checkHeader(channel);
+                long whole = HEADER_SIZE + (size - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+                if (whole != size) {
+                    channel.truncate(whole);
+                    size = whole;
+                }
+            }
+            channel.position(size);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not a session history file");
+        }
+        int version = header.getInt();
+        int recordSize = header.getInt();
+        if (version != VERSION || recordSize != RECORD_SIZE) {
+            throw new IOException("Unsupported session history version " + version);
+        }
+    }
+
+    // Per Snake Type and Difficulty Statistics, backed by one score histogram per group; the
+    // histograms stop growing at HISTOGRAM_SCORES, and percentiles among the scores beyond it
+    // are reported as the best score
+    public static final class Summary {
+        private final long[] counts = new long[TYPES * DIFFICULTIES];
+        private final int[] best = new int[TYPES * DIFFICULTIES];
+        private long[][] histograms = new long[TYPES * DIFFICULTIES][64];
+
+        private void add(int group, int score) {
+            counts[group]++;
+            if (score > best[group]) {
+                best[group] = score;
+            }
+            int slot = Math.min(score, HISTOGRAM_SCORES);
+            long[] histogram = histograms[group];
+            if (slot >= histogram.length) {
+                long[] grown = new long[Math.min(Math.max(slot + 1, histogram.length * 2), HISTOGRAM_SCORES + 1)];
+                System.arraycopy(histogram, 0, grown, 0, histogram.length);
+                histograms[group] = histogram = grown;
+            }
+            histogram[slot]++;
+        }
+
+        private static int group(SnakeGame.SnakeType type, SnakeGame.Difficulty difficulty) {
+            return type.ordinal() * DIFFICULTIES + difficulty.ordinal();
+        }
+
+        public long getCount(SnakeGame.SnakeType type, SnakeGame.Difficulty difficulty) {
+            return counts[group(type, difficulty)];
+        }
+
+        public int getBest(SnakeGame.SnakeType type, SnakeGame.Difficulty difficulty) {
+            return best[group(type, difficulty)];
+        }
+
+        // Lowest Score at or above the Given Fraction of Games (0.5 for the median), or 0 with no games
+        public int getPercentile(SnakeGame.SnakeType type, SnakeGame.Difficulty difficulty, double fraction) {
+            int group = group(type, difficulty);
+            long count = counts[group];
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long[] histogram = histograms[group];
+            long seen = 0;
+            for (int score = 0; score < Math.min(histogram.length, HISTOGRAM_SCORES); score++) {
+                seen += histogram[score];
+                if (seen >= rank) {
+                    return score;
+                }
+            }
+            return best[group]; // Among the scores past the histogram
+        }
+    }
+
+    // Score per Minute Played, bucketed by end time
+    public static final class Trend {
+        final long firstBucket; // Start of the first bucket, in epoch milliseconds
+        final long bucketMillis;
+        final long[] scores;
+        final long[] durations; // Milliseconds played
+
+        Trend(long firstBucket, long bucketMillis, int buckets) {
+            this.firstBucket = firstBucket;
+            this.bucketMillis = bucketMillis;
+            scores = new long[buckets];
+            durations = new long[buckets];
+        }
+
+        public int getBuckets() {
+            return scores.length;
+        }
+
+        public long getBucketStart(int bucket) {
+            return firstBucket + bucket * bucketMillis;
+        }
+
+        public double getScorePerMinute(int bucket) {
+            return durations[bucket] == 0 ? 0 : scores[bucket] * 60_000.0 / durations[bucket];
+        }
+    }
+
+    // Best, Count and Percentiles for Every Snake Type and Difficulty in One Pass
+    public Summary summarize() throws IOException {
+        Summary summary = new Summary();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkHeader(channel);
+            long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            for (long first = 0; first < records; ) {
+                MappedByteBuffer map = map(channel, first, records);
+                int count = map.capacity() / RECORD_SIZE;
+                for (int i = 0, offset = 0; i < count; i++, offset += RECORD_SIZE) {
+                    int type = map.get(offset + SNAKE_TYPE);
+                    int difficulty = map.get(offset + DIFFICULTY);
+                    int score = map.getInt(offset + SCORE);
+                    if (type >= 0 && type < TYPES && difficulty >= 0 && difficulty < DIFFICULTIES && isValidScore(score)) {
+                        summary.add(type * DIFFICULTIES + difficulty, score);
+                    }
+                }
+                first += count;
+            }
+        }
+        return summary;
+    }
+
+    // Score per Minute over Time, in buckets of bucketMillis from the first recorded game
+    public Trend scorePerMinute(long bucketMillis) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkHeader(channel);
+            long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            if (records == 0) {
+                return new Trend(0, bucketMillis, 0);
+            }
+            // Records are appended in end-time order, so the first and last bound the range
+            long firstBucket = Math.floorDiv(endedAt(channel, 0), bucketMillis) * bucketMillis;
+            long lastBucket = Math.floorDiv(endedAt(channel, records - 1), bucketMillis) * bucketMillis;
+            int buckets = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (lastBucket - firstBucket) / bucketMillis + 1));
+            Trend trend = new Trend(firstBucket, bucketMillis, buckets);
+            for (long first = 0; first < records; ) {
+                MappedByteBuffer map = map(channel, first, records);
+                int count = map.capacity() / RECORD_SIZE;
+                for (int i = 0, offset = 0; i < count; i++, offset += RECORD_SIZE) {
+                    long bucket = Math.floorDiv(map.getLong(offset + ENDED_AT) - firstBucket, bucketMillis);
+                    int score = map.getInt(offset + SCORE);
+                    if (bucket >= 0 && bucket < buckets && isValidScore(score)) { // Skip games from a clock set backwards and corrupt scores
+                        trend.scores[(int) bucket] += score;
+                        trend.durations[(int) bucket] += map.getInt(offset + DURATION);
+                    }
+                }
+                first += count;
+            }
+            return trend;
+        }
+    }
+
+    // Check a Score Read from a Record Could Have Been Played, so a corrupt one is skipped
+    private static boolean isValidScore(int score) {
+        return score >= 0 && score <= MAX_SCORE;
+    }
+
+    // Map Records [first, records) or as Many as Fit in One Mapping
+    private static MappedByteBuffer map(FileChannel channel, long first, long records) throws IOException {
+        long size = Math.min((records - first) * RECORD_SIZE, MAX_MAP_SIZE);
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, size);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        return map;
+    }
+
+    private static long endedAt(FileChannel channel, long index) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(buffer, HEADER_SIZE + index * RECORD_SIZE + ENDED_AT);
+        return buffer.getLong(0);
+    }
+
+    // Print Statistics for a History File: java SessionHistory [file] [synthetic records to add first]
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "history.dat";
+        SessionHistory history = new SessionHistory(path);
+        if (args.length > 1) {
+            generate(history, Integer.parseInt(args[1]));
+        }
+
+        long start = System.nanoTime();
+        Summary summary = history.summarize();
+        double summarizeMillis = (System.nanoTime() - start) / 1e6;
+        for (SnakeGame.SnakeType type : SnakeGame.SnakeType.values()) {
+            for (SnakeGame.Difficulty difficulty : SnakeGame.Difficulty.values()) {
+                if (summary.getCount(type, difficulty) > 0) {
+                    System.out.printf("%-6s %-6s games %9d  best %4d  median %4d  p90 %4d  p99 %4d%n", type, difficulty,
+                            summary.getCount(type, difficulty), summary.getBest(type, difficulty),
+                            summary.getPercentile(type, difficulty, 0.5), summary.getPercentile(type, difficulty, 0.9),
+                            summary.getPercentile(type, difficulty, 0.99));
+                }
+            }
+        }
+
+        start = System.nanoTime();
+        Trend trend = history.scorePerMinute(24L * 60 * 60 * 1000);
+        double trendMillis = (System.nanoTime() - start) / 1e6;
+        for (int i = Math.max(0, trend.getBuckets() - 7); i < trend.getBuckets(); i++) {
+            System.out.printf("%tF  %.1f points/min%n", trend.getBucketStart(i), trend.getScorePerMinute(i));
+        }
+        long records = (Files.size(history.file) - HEADER_SIZE) / RECORD_SIZE;
+        System.out.printf("%d records: summary %.1f ms, daily trend %.1f ms%n", records, summarizeMillis, trendMillis);
+    }
+
+    // Append Synthetic Games over the Past Year, written in one bulk pass
+    private static void generate(SessionHistory history, int count) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long now = System.currentTimeMillis();
+        long step = 365L * 24 * 60 * 60 * 1000 / Math.max(1, count);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = history.openForAppend()) {
+            for (int i = 0; i < count; i++) {
+                int difficulty = random.nextInt(DIFFICULTIES);
+                int score = (int) Math.abs(random.nextGaussian() * 15 * (difficulty + 1));
+                buffer.putLong(now - (count - i) * step);
+                buffer.putInt(10_000 + random.nextInt(300_000));
+                buffer.putInt(score);
+                buffer.put((byte) random.nextInt(TYPES));
+                buffer.put((byte) difficulty);
+                buffer.putShort((short) 0);
+                if (!buffer.hasRemaining() || i == count - 1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Text Label Rendered Once (with its drop shadow) into a translucent image, then redrawn with a
+// single blit. The image is only re-rendered when the text or number it shows changes, so drawing
+// an unchanged label allocates nothing and does no text layout.
+public class ShadowLabel {
+    private static final int SHADOW_OFFSET = 2;
+
+    private final Font font;
+    private final Color textColor;
+    private final Color shadowColor; // null for plain text
+
+    // Cached Image and What It Shows
+    private BufferedImage image;
+    private int ascent;
+    private String text;
+    private String prefix;
+    private long value;
+
+    // Constructor
+    public ShadowLabel(Font font, Color textColor, Color shadowColor) {
+        this.font = font;
+        this.textColor = textColor;
+        this.shadowColor = shadowColor;
+    }
+
+    // Draw Fixed Text with its baseline at (x, y), like Graphics.drawString
+    public void draw(Graphics g, String text, int x, int y) {
+        if (image == null || prefix != null || !text.equals(this.text)) {
+            prefix = null;
+            render(g, text);
+        }
+        g.drawImage(image, x, y - ascent, null);
+    }
+
+    // Draw a Prefix Followed by a Number, building the string only when the number changes
+    public void draw(Graphics g, String prefix, long value, int x, int y) {
+        if (image == null || prefix != this.prefix || value != this.value) {
+            this.prefix = prefix;
+            this.value = value;
+            render(g, prefix + value);
+        }
+        g.drawImage(image, x, y - ascent, null);
+    }
+
+    private void render(Graphics g, String text) {
+        this.text = text;
+        FontMetrics metrics = g.getFontMetrics(font);
+        ascent = metrics.getAscent();
+        int shadow = shadowColor != null ? SHADOW_OFFSET : 0;
+        int width = Math.max(1, metrics.stringWidth(text) + shadow);
+        int height = metrics.getHeight() + shadow;
+
+        GraphicsConfiguration config = ((Graphics2D) g).getDeviceConfiguration();
+        image = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g2d = image.createGraphics();
+        Object antialiasing = ((Graphics2D) g).getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (antialiasing != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialiasing); // Match the target
+        }
+        g2d.setFont(font);
+        if (shadowColor != null) {
+            g2d.setColor(shadowColor);
+            g2d.drawString(text, SHADOW_OFFSET, ascent + SHADOW_OFFSET); // Shadow offset
+        }
+        g2d.setColor(textColor);
+        g2d.drawString(text, 0, ascent);
+        g2d.dispose();
+    }
+}
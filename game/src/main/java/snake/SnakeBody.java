@@ -0,0 +1,114 @@
+package snake;
+
+// Snake Body stored as a ring buffer of packed cell indexes (y * columns + x) plus an
+// occupancy bitset, so moving the snake and self-collision are O(1) and allocation-free.
+// The ring starts small and doubles as the snake grows, and the bitset is split into chunks of
+// CHUNK_CELLS consecutive cells that exist only while the body covers one of their cells, so
+// memory follows the snake's length rather than the board's area. Emptied chunks are kept on a
+// short spare list for reuse, so a snake crossing chunk boundaries does not allocate.
+public class SnakeBody {
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_CELLS = 1 << CHUNK_SHIFT; // 4096 cells, 512 bytes of bits
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_SPARE_CHUNKS = 64;
+
+    private final int columns;
+    private final int capacity; // Board cells, the longest the body can get
+    private int[] cells; // Ring buffer, neck segment at start, tail at start + length - 1
+    private final long[][] chunks; // Occupancy bits per chunk, null where no segment lies
+    private final int[] chunkCounts; // Segments inside each chunk
+    private final long[][] spareChunks = new long[MAX_SPARE_CHUNKS][];
+    private int spareCount;
+    private int start;
+    private int length;
+
+    // Constructor
+    public SnakeBody(int columns, int rows) {
+        this.columns = columns;
+        capacity = Math.multiplyExact(columns, rows);
+        cells = new int[Math.min(capacity, INITIAL_CAPACITY)];
+        int chunkCount = (capacity + CHUNK_CELLS - 1) >>> CHUNK_SHIFT;
+        chunks = new long[chunkCount][];
+        chunkCounts = new int[chunkCount];
+    }
+
+    // Pack a Tile Position into a Cell Index
+    public int cellOf(int x, int y) {
+        return y * columns + x;
+    }
+
+    // Add a New Segment Behind the Head
+    public void addFirst(int cell) {
+        if (length == cells.length) {
+            growRing();
+        }
+        start = start == 0 ? cells.length - 1 : start - 1;
+        cells[start] = cell;
+        int chunk = cell >>> CHUNK_SHIFT;
+        long[] bits = chunks[chunk];
+        if (bits == null) {
+            bits = spareCount > 0 ? spareChunks[--spareCount] : new long[CHUNK_CELLS >>> 6];
+            chunks[chunk] = bits;
+        }
+        bits[(cell & (CHUNK_CELLS - 1)) >>> 6] |= 1L << cell;
+        chunkCounts[chunk]++;
+        length++;
+    }
+
+    // Remove the Tail Segment and Return its Cell
+    public int removeLast() {
+        int index = start + length - 1;
+        if (index >= cells.length) {
+            index -= cells.length;
+        }
+        int cell = cells[index];
+        int chunk = cell >>> CHUNK_SHIFT;
+        long[] bits = chunks[chunk];
+        bits[(cell & (CHUNK_CELLS - 1)) >>> 6] &= ~(1L << cell);
+        if (--chunkCounts[chunk] == 0) {
+            chunks[chunk] = null; // All bits are clear again, so the chunk can be reused as is
+            if (spareCount < MAX_SPARE_CHUNKS) {
+                spareChunks[spareCount++] = bits;
+            }
+        }
+        length--;
+        return cell;
+    }
+
+    // Check if a Cell is Covered by the Body
+    public boolean contains(int cell) {
+        long[] bits = chunks[cell >>> CHUNK_SHIFT];
+        return bits != null && (bits[(cell & (CHUNK_CELLS - 1)) >>> 6] & (1L << cell)) != 0;
+    }
+
+    // Cell of the Segment at the Given Index, counted from the neck (0) to the tail
+    public int get(int index) {
+        int i = start + index;
+        if (i >= cells.length) {
+            i -= cells.length;
+        }
+        return cells[i];
+    }
+
+    public int size() {
+        return length;
+    }
+
+    // Remove All Segments
+    public void clear() {
+        while (length > 0) {
+            removeLast();
+        }
+        start = 0;
+    }
+
+    // Double the Ring (up to the board size), unwrapping it so the neck is at index 0
+    private void growRing() {
+        int[] grown = new int[(int) Math.min(capacity, 2L * cells.length)];
+        int firstPart = Math.min(length, cells.length - start);
+        System.arraycopy(cells, start, grown, 0, firstPart);
+        System.arraycopy(cells, 0, grown, firstPart, length - firstPart);
+        cells = grown;
+        start = 0;
+    }
+}
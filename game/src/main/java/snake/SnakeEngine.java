@@ -0,0 +1,379 @@
+package snake;
+
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.random.RandomGenerator;
+
+// Headless Snake Rules: advances the game one tick per step() with no AWT or Swing dependency,
+// so it can be driven by the Swing view, bots, tests or a server at any rate.
+// Boards up to MAX_INDEXED_CELLS keep an index of free cells for O(1) food placement at any
+// occupancy; larger boards (up to MAX_CELLS) skip it and place food by rejection sampling, since
+// a snake can only ever cover a sliver of them.
+public class SnakeEngine {
+    static final int MAX_INDEXED_CELLS = 1 << 20; // 8 MB of free-cell index
+    static final int MAX_CELLS = 10_000 * 10_000;
+    static final int START_X = 5; // Starting head; boards must be wider and taller than this
+    static final int START_Y = 5;
+
+    // Step Result Flags, combined into the int returned by step()
+    public static final int ATE_FOOD = 1;
+    public static final int ATE_SPECIAL_FOOD = 1 << 1;
+    public static final int SPECIAL_FOOD_SPAWNED = 1 << 2;
+    public static final int DIED = 1 << 3;
+
+    // Board Dimensions in Tiles
+    private final int columns;
+    private final int rows;
+
+    // Snake Properties
+    private int headX;
+    private int headY;
+    private final SnakeBody snakeBody;
+    private int velocityX;
+    private int velocityY;
+
+    // Food Properties
+    private final FreeCells freeCells; // Cells not covered by the snake or food, null on huge boards
+    private int foodX = -1;
+    private int foodY = -1;
+    private int specialFoodX = -1; // Offscreen initially
+    private int specialFoodY = -1;
+    private RandomGenerator random;
+    private final IntUnaryOperator randomInt = bound -> random.nextInt(bound); // Follows reset(random)
+    private final IntPredicate isFree = this::isFreeCell;
+
+    // Scoring Rules (defaults are the shipped game; the batch simulator tunes them)
+    private int specialFoodChance = 2; // Special food spawns with probability chance / chanceScale per tick
+    private int specialFoodChanceScale = 10;
+    private int specialFoodBonus = 5;
+
+    // Game State
+    private int score;
+    private long tick;
+    private boolean gameOver;
+
+    // Constructor
+    public SnakeEngine(int columns, int rows, RandomGenerator random) {
+        if (columns <= START_X || rows <= START_Y || (long) columns * rows > MAX_CELLS) {
+            throw new IllegalArgumentException("Invalid board size " + columns + "x" + rows);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.random = random;
+        snakeBody = new SnakeBody(columns, rows);
+        freeCells = columns * rows <= MAX_INDEXED_CELLS ? new FreeCells(columns * rows) : null;
+        reset();
+    }
+
+    // Reseed the Random Source and Reset, so the game that follows is reproducible from the seed
+    // (replays rely on java.util.Random producing the same sequence for a seed on every JVM)
+    public void reset(long seed) {
+        if (random instanceof Random) {
+            ((Random) random).setSeed(seed);
+        } else {
+            random = new Random(seed);
+        }
+        reset();
+    }
+
+    // Reset with a Different Random Source, e.g. one SplittableRandom per simulated game
+    public void reset(RandomGenerator random) {
+        this.random = random;
+        reset();
+    }
+
+    // Special Food Spawn Chance per Tick without special food on the board, as chance / scale
+    public void setSpecialFoodChance(int chance, int scale) {
+        if (scale <= 0 || chance < 0 || chance > scale) {
+            throw new IllegalArgumentException("Invalid special food chance " + chance + "/" + scale);
+        }
+        specialFoodChance = chance;
+        specialFoodChanceScale = scale;
+    }
+
+    // Points (and Segments) Gained from Special Food
+    public void setSpecialFoodBonus(int bonus) {
+        specialFoodBonus = bonus;
+    }
+
+    // Reset to the Starting Position
+    public void reset() {
+        headX = START_X;
+        headY = START_Y;
+        snakeBody.clear();
+        if (freeCells != null) {
+            freeCells.reset();
+            freeCells.take(snakeBody.cellOf(headX, headY));
+        }
+        velocityX = 1;
+        velocityY = 0;
+        foodX = -1;
+        foodY = -1;
+        specialFoodX = -1;
+        specialFoodY = -1;
+        score = 0;
+        tick = 0;
+        gameOver = false;
+        placeFood();
+    }
+
+    // Advance One Tick: apply the input, move, then resolve collisions and food
+    public int step(Direction input) {
+        if (gameOver) {
+            return 0;
+        }
+        steer(input);
+        moveSnake();
+        tick++;
+        int events = checkCollisions();
+        if ((events & DIED) != 0) {
+            return events;
+        }
+        return events | checkFoodCollision();
+    }
+
+    // Change Direction unless it would reverse the snake onto itself
+    public boolean steer(Direction direction) {
+        if (!canSteer(direction)) {
+            return false;
+        }
+        velocityX = direction.dx;
+        velocityY = direction.dy;
+        return true;
+    }
+
+    // Check a Direction Would Turn the Snake, rather than keep or reverse its course
+    public boolean canSteer(Direction direction) {
+        if (direction == Direction.UP || direction == Direction.DOWN) {
+            return velocityY == 0;
+        } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+            return velocityX == 0;
+        }
+        return false;
+    }
+
+    // Extend the Snake by the Given Number of Segments over the next ticks, as if it had eaten
+    void grow(int segments) {
+        score += segments;
+    }
+
+    // Move the Snake
+    public void moveSnake() {
+        snakeBody.addFirst(snakeBody.cellOf(headX, headY)); // Old head becomes the neck
+        headX += velocityX;
+        headY += velocityY;
+        if (snakeBody.size() > score) {
+            int tail = snakeBody.removeLast(); // Remove last segment
+            if (freeCells != null) {
+                freeCells.release(tail);
+            }
+        }
+        if (freeCells != null && isInside(headX, headY)) {
+            freeCells.take(snakeBody.cellOf(headX, headY));
+        }
+    }
+
+    // Check for Collisions (Walls or Self)
+    public int checkCollisions() {
+        boolean collisionDetected = false;
+
+        // Check Wall Collisions
+        if (!isInside(headX, headY)) {
+            collisionDetected = true;
+        } else if (snakeBody.contains(snakeBody.cellOf(headX, headY))) {
+            // Check Self Collisions
+            collisionDetected = true;
+        }
+
+        if (collisionDetected) {
+            gameOver = true;
+            return DIED;
+        }
+        return 0;
+    }
+
+    // Check for Food Consumption
+    public int checkFoodCollision() {
+        int events = 0;
+        if (headX == foodX && headY == foodY) {
+            score++;
+            foodX = -1; // The head now covers the eaten food's cell
+            foodY = -1;
+            placeFood();
+            events |= ATE_FOOD;
+        }
+
+        // Check for Special Food
+        if (specialFoodX == -1 && specialFoodY == -1
+                && random.nextInt(specialFoodChanceScale) < specialFoodChance) { // 20% chance by default
+            placeSpecialFood();
+            if (specialFoodX != -1) {
+                events |= SPECIAL_FOOD_SPAWNED;
+            }
+        }
+
+        if (headX == specialFoodX && headY == specialFoodY) {
+            score += specialFoodBonus; // Increase score more for special food
+            specialFoodX = -1; // Remove special food after eating
+            specialFoodY = -1;
+            events |= ATE_SPECIAL_FOOD;
+        }
+        return events;
+    }
+
+    // Place Food at a Random Free Location (off the board if none is left)
+    public void placeFood() {
+        if (foodX != -1) {
+            if (freeCells != null) {
+                freeCells.release(snakeBody.cellOf(foodX, foodY));
+            }
+            foodX = -1;
+            foodY = -1;
+        }
+        int cell = randomFreeCell();
+        if (cell == -1) {
+            return;
+        }
+        if (freeCells != null) {
+            freeCells.take(cell);
+        }
+        foodX = cell % columns;
+        foodY = cell / columns;
+    }
+
+    // Place Special Food at a Random Free Location (off the board if none is left)
+    public void placeSpecialFood() {
+        if (specialFoodX != -1) {
+            if (freeCells != null) {
+                freeCells.release(snakeBody.cellOf(specialFoodX, specialFoodY));
+            }
+            specialFoodX = -1;
+            specialFoodY = -1;
+        }
+        int cell = randomFreeCell();
+        if (cell == -1) {
+            return;
+        }
+        if (freeCells != null) {
+            freeCells.take(cell);
+        }
+        specialFoodX = cell % columns;
+        specialFoodY = cell / columns;
+    }
+
+    // Uniformly Random Free Cell, or -1 if the board is full. Without the free-cell index, random
+    // cells are tried until one is free; if the board is so full that every try misses, the cells
+    // are scanned from a random start instead.
+    private int randomFreeCell() {
+        if (freeCells != null) {
+            return freeCells.random(random);
+        }
+        return RandomCells.randomFreeCell(columns * rows, randomInt, isFree);
+    }
+
+    // Check a Cell Is Not Covered by the Snake or Food
+    private boolean isFreeCell(int cell) {
+        return !snakeBody.contains(cell)
+                && cell != snakeBody.cellOf(headX, headY)
+                && (foodX == -1 || cell != snakeBody.cellOf(foodX, foodY))
+                && (specialFoodX == -1 || cell != snakeBody.cellOf(specialFoodX, specialFoodY));
+    }
+
+    // Check if a Tile Lies on the Board
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < columns && y >= 0 && y < rows;
+    }
+
+    // Getters
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getHeadX() {
+        return headX;
+    }
+
+    public int getHeadY() {
+        return headY;
+    }
+
+    public int getBodyLength() {
+        return snakeBody.size();
+    }
+
+    // Body segments are indexed from the neck (0) to the tail
+    public int getBodyX(int index) {
+        return snakeBody.get(index) % columns;
+    }
+
+    public int getBodyY(int index) {
+        return snakeBody.get(index) / columns;
+    }
+
+    // Body Segment as a Packed Cell (y * columns + x), avoiding the division of getBodyX/getBodyY
+    public int getBodyCell(int index) {
+        return snakeBody.get(index);
+    }
+
+    // Check if a Tile is Covered by the Body (the head is not part of the body)
+    public boolean isBody(int x, int y) {
+        return isInside(x, y) && snakeBody.contains(snakeBody.cellOf(x, y));
+    }
+
+    public int getVelocityX() {
+        return velocityX;
+    }
+
+    public int getVelocityY() {
+        return velocityY;
+    }
+
+    public boolean hasFood() {
+        return foodX != -1 && foodY != -1;
+    }
+
+    public int getFoodX() {
+        return foodX;
+    }
+
+    public int getFoodY() {
+        return foodY;
+    }
+
+    public boolean hasSpecialFood() {
+        return specialFoodX != -1 && specialFoodY != -1;
+    }
+
+    public int getSpecialFoodX() {
+        return specialFoodX;
+    }
+
+    public int getSpecialFoodY() {
+        return specialFoodY;
+    }
+
+    public int getFreeCellCount() {
+        if (freeCells != null) {
+            return freeCells.size();
+        }
+        int taken = snakeBody.size() + (isInside(headX, headY) ? 1 : 0) + (hasFood() ? 1 : 0) + (hasSpecialFood() ? 1 : 0);
+        return columns * rows - taken;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
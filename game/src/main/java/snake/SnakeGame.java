@@ -0,0 +1,1151 @@
+package snake;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sound.sampled.Clip;
+import javax.swing.*;
+
+public class SnakeGame extends JPanel implements KeyListener {
+    // Enum for Snake Colors
+    enum SnakeType { 
+        GREEN, BLUE, YELLOW 
+    }
+
+    // Enum for Difficulty Levels with corresponding speeds
+    enum Difficulty {
+        EASY(150), MEDIUM(100), HARD(50);
+
+        int speed;
+
+        Difficulty(int speed) {
+            this.speed = speed;
+        }
+    }
+
+    // Board Sizes Offered in the Menu, in tiles (WINDOW fits the board to the window)
+    enum BoardSize {
+        WINDOW(0, 0), LARGE(1000, 1000), HUGE(10_000, 10_000);
+
+        final int columns;
+        final int rows;
+
+        BoardSize(int columns, int rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+    }
+
+    // Game Board Dimensions: boardWidth x boardHeight is the window onto the board in pixels,
+    // and boards larger than the window scroll with a camera that follows the head
+    int boardWidth;
+    int boardHeight;
+    static final int TILE_SIZE = 25;
+    int tileSize = TILE_SIZE;
+    BoardSize boardSize = BoardSize.WINDOW;
+
+    // Camera: board pixel at the window's top-left corner, set on every frame (EDT only)
+    private int cameraX;
+    private int cameraY;
+
+    // Game Rules
+    SnakeEngine engine;
+    final InputQueue inputQueue = new InputQueue(InputQueue.DEFAULT_CAPACITY); // Arrow keys, one turn applied per tick
+
+    // Snake Properties
+    Color snakeColor;
+    SnakeType snakeType;
+    boolean snakeTypeSelected = false;
+
+    // Random Source for Food Placement, reseeded for every game from seedSource
+    Random random;
+    private final Random seedSource = new Random();
+
+    // Replays: the game being recorded (touched by the game loop thread while running), the last
+    // finished recording, and the input cursor while a replay is being watched
+    private Replay replay;
+    private volatile Replay lastReplay;
+    private volatile Replay.Cursor playback;
+    static final String LAST_REPLAY_FILE = "last-replay.snr";
+
+    // Computer Player, toggled from the start menu and built on first use for the board size
+    volatile boolean autopilotEnabled = false;
+    Autopilot autopilot;
+
+    // Game Logic Variables (ticks run on the game loop thread, painting on the EDT)
+    GameLoop gameLoop;
+    final PerfMonitor perfMonitor = new PerfMonitor();
+    PerfOverlay perfOverlay;
+    volatile boolean perfOverlayShown = false; // Toggled with F3
+    static final int DEFAULT_RENDER_RATE = 60; // Frames per second when the display rate is unknown
+
+    // Rendering: tiles are copied from a sprite atlas, and frames go to a page-flipped canvas on
+    // screen; -Dsnake.sprites=false and -Dsnake.canvas=false select the per-tile shapes and
+    // Swing's repaint path for comparison
+    boolean spritesEnabled = !"false".equals(System.getProperty("snake.sprites"));
+    private SpriteAtlas sprites; // Built on first use for the tile size (EDT only)
+    GameCanvas canvas; // null when painting through Swing
+    private final AtomicBoolean framePending = new AtomicBoolean();
+
+    volatile boolean gameOver = false;
+    volatile boolean paused = false;
+    volatile boolean gameStarted = false;
+
+    // Time Tracking (monotonic, from System.nanoTime())
+    volatile long startTime; // Time when the game starts
+    volatile long elapsedTime; // Milliseconds elapsed since the game started
+
+    // Difficulty Level
+    Difficulty difficulty;
+    boolean difficultySelected = false;
+
+    // Audio: looping music as a Clip, sound effects mixed in software so they can overlap; all
+    // null until loaded, as the menu is shown while they are still loading
+    Clip backgroundMusic;
+    volatile SoundMixer soundMixer;
+    volatile SoundMixer.Sound eatSoundEffect; // Sound effect for eating food
+
+    // Background Images, null until loaded (EDT only)
+    Image mainMenuBackground;
+    Image gameBackground;
+
+    // Static Layers (background scaled to the board, plus the grid in game or the menu text),
+    // rendered once into display-compatible images and rebuilt only when the board size changes
+    private BufferedImage menuLayer;
+    private BufferedImage menuDifficultyLayer; // Menu once a snake is chosen
+    private BufferedImage gameLayer;
+
+    // Fonts, created once instead of on every frame
+    static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 36);
+    static final Font MENU_FONT = new Font("Arial", Font.PLAIN, 24);
+    static final Font HUD_FONT = new Font("Arial", Font.PLAIN, 16);
+    static final Font SCOREBOARD_TITLE_FONT = new Font("Arial", Font.BOLD, 24);
+    static final Font SCOREBOARD_FONT = new Font("Arial", Font.PLAIN, 20);
+    static final Font HIGH_SCORES_TITLE_FONT = new Font("Arial", Font.BOLD, 22);
+    static final Font HIGH_SCORES_FONT = new Font("Arial", Font.PLAIN, 18);
+
+    // Cached Text: HUD labels re-render only when their value changes, and the game-over
+    // text and scoreboard panel are pre-rendered once per game over
+    private final ShadowLabel scoreLabel = new ShadowLabel(HUD_FONT, Color.white, null);
+    private final ShadowLabel pausedLabel = new ShadowLabel(HUD_FONT, Color.yellow, Color.darkGray);
+    private final ShadowLabel modeLabel = new ShadowLabel(HUD_FONT, Color.cyan, Color.darkGray);
+    private BufferedImage scoreboardPanel;
+    private BufferedImage gameOverText; // null until rendered for the current game over
+    private int gameOverTextLeft;
+    private int gameOverTextTop;
+    private AlphaComposite fadeComposite;
+
+    // JFrame Reference
+    JFrame frame;
+
+    // Leaderboard of Every Player's Best Score, journaled to LEADERBOARD_FILE; the old top-five
+    // file is only read, to carry its entries over. Its rank counters cover scores below
+    // LEADERBOARD_SCORES (half a megabyte, allocated with the game, rather than the default 8 MB);
+    // the scrolling boards allow higher scores, which keep their exact value in the table but
+    // rank as ties at the top.
+    static final int LEADERBOARD_SCORES = 1 << 16;
+    private final Leaderboard leaderboard = new Leaderboard(LEADERBOARD_SCORES);
+    static final String LEADERBOARD_FILE = "leaderboard.dat";
+    private final String HIGH_SCORE_FILE = "highscores.dat";
+    private final HighScoreStore highScoreStore = new HighScoreStore(HIGH_SCORE_FILE);
+    static final int MAX_HIGH_SCORES = 5; // Entries shown on the scoreboard
+    private String playerName; // Name entered this session, if any (EDT only)
+    private StringBuilder nameEntry; // Name being typed for a new high score, null otherwise (EDT only)
+    private int nameEntryScore;
+
+    // Game Events: published by the game loop and the UI, and handled by audio, persistence (on
+    // its own thread, for the files of a finished game) and the UI (on the EDT)
+    final GameEventBus events = new GameEventBus();
+    private final ExecutorService persistence = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Game Persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // History of Every Finished Game, appended in the background
+    private final SessionHistory sessionHistory = new SessionHistory("history.dat");
+
+    // Animation Variables for Scoreboard Fade-In
+    float scoreboardOpacity = 0f;
+    Timer animationTimer;
+
+    // Flag to Indicate a New High Score
+    private boolean isNewHighScore = false;
+
+    // Constructor, loading assets on the calling thread (for tools that need a game without a loading screen)
+    SnakeGame(int boardWidth, int boardHeight, JFrame frame) {
+        this(boardWidth, boardHeight, frame,
+                new AssetLoader(boardWidth, boardHeight, (bytes, total, assets, count) -> { }).load().join());
+    }
+
+    // Constructor, taking assets preloaded by an AssetLoader
+    SnakeGame(int boardWidth, int boardHeight, JFrame frame, AssetLoader.Assets assets) {
+        this(boardWidth, boardHeight, frame, AssetLoader.Loading.of(assets));
+    }
+
+    // Constructor, taking assets that may still be loading: each is put to use on the EDT when it
+    // arrives, and until then the game draws without it
+    SnakeGame(int boardWidth, int boardHeight, JFrame frame, AssetLoader.Loading loading) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.frame = frame;
+        setPreferredSize(new Dimension(this.boardWidth, this.boardHeight));
+        setBackground(Color.darkGray);
+        addKeyListener(this);
+        setFocusable(true);
+        if (!GraphicsEnvironment.isHeadless() && !"false".equals(System.getProperty("snake.canvas"))) {
+            canvas = new GameCanvas(this, boardWidth, boardHeight);
+            setLayout(new BorderLayout());
+            add(canvas);
+        }
+
+        // Initialize Snake Attributes
+        snakeType = SnakeType.GREEN;
+        difficulty = Difficulty.MEDIUM;
+        setSnakeAttributes(snakeType);
+
+        // Initialize Game Rules (snake, food and movement)
+        random = new Random();
+        setBoard(boardWidth / tileSize, boardHeight / tileSize);
+
+        // Initialize Game Loop; the tick rate is set from the difficulty when a game starts
+        gameLoop = new GameLoop(this::tick, this::requestFrame, displayRefreshRate(), perfMonitor);
+        perfOverlay = new PerfOverlay(perfMonitor, gameLoop);
+
+        // Background Images, Music and Sound Effects, now or once loaded
+        whenLoaded(loading.menuBackground, this::menuBackgroundLoaded);
+        whenLoaded(loading.assets, this::assetsLoaded);
+
+        // Initialize High Scores and the Handlers of Game Events
+        loadHighScores();
+        subscribeToEvents();
+
+        // Initialize Animation Timer for Scoreboard Fade-In
+        animationTimer = new Timer(50, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (scoreboardOpacity < 1f) {
+                    scoreboardOpacity += 0.05f;
+                    if (scoreboardOpacity >= 1f) {
+                        scoreboardOpacity = 1f;
+                        animationTimer.stop();
+                    }
+                    requestFrame();
+                }
+            }
+        });
+    }
+
+    // Ask for a Frame: drawn by the canvas on the EDT (coalescing requests that arrive before it
+    // runs), or by Swing's repaint when there is no canvas; callable from any thread
+    void requestFrame() {
+        if (canvas == null) {
+            repaint();
+        } else if (framePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                framePending.set(false);
+                canvas.render();
+            });
+        }
+    }
+
+    // Paint Component Override (the canvas covers the panel when there is one)
+    public void paintComponent(Graphics g) {
+        if (canvas == null) {
+            paintFrame(g);
+        }
+    }
+
+    // Draw One Complete Frame
+    void paintFrame(Graphics g) {
+        long paintStart = System.nanoTime();
+        drawBackground(g); // Opaque static layer covers the whole panel, so no clearing is needed
+        if (gameStarted) {
+            draw(g);
+        }
+        perfMonitor.recordPaint(System.nanoTime() - paintStart);
+        if (perfOverlayShown) {
+            perfOverlay.draw(g, 10, 30);
+        }
+        if (StartupProbe.ENABLED) {
+            StartupProbe.mark(StartupProbe.FIRST_PAINT);
+            if (!gameStarted && mainMenuBackground != null) {
+                StartupProbe.mark(StartupProbe.MENU);
+            }
+        }
+    }
+
+    // Draw Background Based on Game State (the start screen text is part of the menu layers)
+    public void drawBackground(Graphics g) {
+        if (gameStarted) {
+            if (!isLayerValid(gameLayer)) {
+                gameLayer = renderStaticLayer(gameBackground, true);
+            }
+            g.drawImage(gameLayer, 0, 0, null);
+        } else if (snakeTypeSelected) {
+            if (!isLayerValid(menuDifficultyLayer)) {
+                menuDifficultyLayer = renderStaticLayer(mainMenuBackground, false);
+            }
+            g.drawImage(menuDifficultyLayer, 0, 0, null);
+        } else {
+            if (!isLayerValid(menuLayer)) {
+                menuLayer = renderStaticLayer(mainMenuBackground, false);
+            }
+            g.drawImage(menuLayer, 0, 0, null);
+        }
+    }
+
+    // Check a Cached Layer Still Matches the Board Size
+    private boolean isLayerValid(BufferedImage layer) {
+        return layer != null && layer.getWidth() == boardWidth && layer.getHeight() == boardHeight;
+    }
+
+    // Render the Scaled Background plus Grid Lines (in game, unless the board scrolls) or the Start Screen into a Display-Compatible Image
+    private BufferedImage renderStaticLayer(Image background, boolean inGame) {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        BufferedImage layer = config != null
+                ? config.createCompatibleImage(boardWidth, boardHeight, Transparency.OPAQUE)
+                : new BufferedImage(boardWidth, boardHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = layer.createGraphics();
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, boardWidth, boardHeight);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        if (background != null) {
+            g2d.drawImage(background, 0, 0, boardWidth, boardHeight, null);
+        }
+
+        if (inGame) {
+            if (!isScrolling()) {
+                g2d.setColor(Color.gray);
+                for (int x = 0; x < boardWidth; x += tileSize) {
+                    g2d.drawLine(x, 0, x, boardHeight);
+                }
+                for (int y = 0; y < boardHeight; y += tileSize) {
+                    g2d.drawLine(0, y, boardWidth, y);
+                }
+            }
+        } else {
+            drawStartScreen(g2d);
+        }
+        g2d.dispose();
+        return layer;
+    }
+
+    // Draw Start Screen with Snake and Difficulty Selection
+    public void drawStartScreen(Graphics g) {
+        g.setColor(Color.white);
+        g.setFont(TITLE_FONT);
+        drawStringWithShadow(g, "Select Your Snake", boardWidth / 2 - 160, boardHeight / 4, Color.white, Color.darkGray);
+
+        g.setFont(MENU_FONT);
+        drawStringWithShadow(g, "A. Autopilot: " + (autopilotEnabled ? "On" : "Off"), boardWidth / 2 - 100, boardHeight / 4 + 40,
+                autopilotEnabled ? Color.cyan : Color.white, Color.darkGray);
+        drawStringWithShadow(g, "B. Board: " + boardSizeName(), boardWidth / 2 - 100, boardHeight / 4 + 70, Color.white, Color.darkGray);
+        g.setColor(Color.white);
+
+        // Draw Boxes Around Snake Options
+        g.drawRect(boardWidth / 2 - 100, boardHeight / 2 - 60, 200, 40);
+        g.drawRect(boardWidth / 2 - 100, boardHeight / 2 - 20, 200, 40);
+        g.drawRect(boardWidth / 2 - 100, boardHeight / 2 + 20, 200, 40);
+
+        // Draw Snake Options Text Inside Boxes
+        drawStringWithShadow(g, "1. Green Snake", boardWidth / 2 - 80, boardHeight / 2 - 40, Color.white, Color.darkGray);
+        drawStringWithShadow(g, "2. Blue Snake", boardWidth / 2 - 80, boardHeight / 2, Color.white, Color.darkGray);
+        drawStringWithShadow(g, "3. Yellow Snake", boardWidth / 2 - 80, boardHeight / 2 + 40, Color.white, Color.darkGray);
+
+        if (snakeTypeSelected) {
+            drawStringWithShadow(g, "Select Difficulty", boardWidth / 2 - 120, boardHeight / 2 + 100, Color.white, Color.darkGray);
+
+            // Draw Boxes Around Difficulty Options
+            g.drawRect(boardWidth / 2 - 100, boardHeight / 2 + 120, 200, 40);
+            g.drawRect(boardWidth / 2 - 100, boardHeight / 2 + 160, 200, 40);
+            g.drawRect(boardWidth / 2 - 100, boardHeight / 2 + 200, 200, 40);
+
+            // Draw Difficulty Options Text Inside Boxes
+            drawStringWithShadow(g, "E. Easy", boardWidth / 2 - 80, boardHeight / 2 + 140, Color.white, Color.darkGray);
+            drawStringWithShadow(g, "M. Medium", boardWidth / 2 - 80, boardHeight / 2 + 180, Color.white, Color.darkGray);
+            drawStringWithShadow(g, "H. Hard", boardWidth / 2 - 80, boardHeight / 2 + 220, Color.white, Color.darkGray);
+            drawStringWithShadow(g, "Press E, M, or H to choose Difficulty.", boardWidth / 2 - 160, boardHeight / 2 + 300, Color.white, Color.darkGray);
+        } else {
+            drawStringWithShadow(g, "Press 1, 2, or 3 to choose Snake.", boardWidth / 2 - 160, boardHeight / 2 + 260, Color.white, Color.darkGray);
+        }
+    }
+
+    // Set Snake Color Based on Selection
+    public void setSnakeAttributes(SnakeType type) {
+        snakeColor = colorOf(type);
+    }
+
+    static Color colorOf(SnakeType type) {
+        switch (type) {
+            case BLUE:
+                return Color.blue;
+            case YELLOW:
+                return Color.yellow;
+            default:
+                return Color.green;
+        }
+    }
+
+    // Start the Game
+    public void startGame() {
+        prepareAutopilot();
+        synchronized (engine) {
+            beginRecording();
+        }
+        inputQueue.clear();
+        startTime = System.nanoTime(); // Record the start time
+        gameStarted = true;
+        perfMonitor.reset();
+        gameLoop.start(difficulty.speed);
+    }
+
+    // Reset the Engine with a Fresh Seed and Start Recording a Replay of the New Game
+    private void beginRecording() {
+        long seed = seedSource.nextLong();
+        engine.reset(seed);
+        replay = new Replay(seed, engine.getColumns(), engine.getRows(), difficulty, snakeType);
+        playback = null;
+    }
+
+    // Watch a Recorded Game in Real Time, switching to the replay's board size if needed
+    public void watchReplay(Replay recording) {
+        gameLoop.stop();
+        if (recording.columns != engine.getColumns() || recording.rows != engine.getRows()) {
+            setBoard(recording.columns, recording.rows);
+        }
+        synchronized (engine) {
+            engine.reset(recording.seed);
+            playback = recording.cursor();
+        }
+        snakeType = recording.snakeType;
+        difficulty = recording.difficulty;
+        setSnakeAttributes(snakeType);
+        snakeTypeSelected = true;
+        inputQueue.clear();
+        gameStarted = true;
+        gameOver = false;
+        paused = false;
+        startTime = System.nanoTime();
+        elapsedTime = 0;
+        scoreboardOpacity = 0f;
+        animationTimer.stop();
+        isNewHighScore = false;
+        nameEntry = null;
+        gameOverText = null;
+        perfMonitor.reset();
+        gameLoop.start(difficulty.speed);
+        requestFrame();
+    }
+
+    // Draw Game Elements
+    public void draw(Graphics g) {
+        // Grid lines are part of the cached game layer drawn by drawBackground() unless the board scrolls
+        synchronized (engine) {
+            float alpha = gameLoop.getInterpolation();
+            moveCamera(alpha);
+            if (isScrolling()) {
+                Viewport.drawVisibleGrid(g, engine.getColumns(), engine.getRows(), tileSize, cameraX, cameraY, boardWidth, boardHeight);
+            }
+            g.translate(-cameraX, -cameraY);
+            drawEntities(g, alpha);
+            g.translate(cameraX, cameraY);
+            if (engine.hasFood()) {
+                drawOffscreenMarker(g, engine.getFoodX(), engine.getFoodY(), Color.red);
+            }
+            scoreLabel.draw(g, "Score: ", engine.getScore(), 10, 20);
+        }
+
+        // Draw Pause Message if Paused
+        if (paused) {
+            pausedLabel.draw(g, "Paused", boardWidth / 2 - 70, boardHeight / 2);
+        }
+        if (playback != null) {
+            modeLabel.draw(g, "Replay", boardWidth - 70, 20);
+        } else if (autopilotEnabled) {
+            modeLabel.draw(g, "Autopilot", boardWidth - 85, 20);
+        }
+
+        // Draw Game Over Screen
+        if (gameOver) {
+            int centerX = boardWidth / 2;
+            int centerY = boardHeight / 2;
+
+            // Fade In the Semi-Transparent Scoreboard Panel with One Alpha-Composited Blit
+            Graphics2D g2d = (Graphics2D) g;
+            float panelAlpha = scoreboardOpacity * 0.6f; // Animated opacity
+            if (fadeComposite == null || fadeComposite.getAlpha() != panelAlpha) {
+                fadeComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, panelAlpha);
+            }
+            Composite original = g2d.getComposite();
+            g2d.setComposite(fadeComposite);
+            g2d.drawImage(getScoreboardPanel(g2d), centerX - 200, centerY - 60, null);
+            g2d.setComposite(original); // Reset to original opacity
+
+            // Draw the Pre-Rendered Game Over Text
+            if (gameOverText == null) {
+                renderGameOverText(g2d);
+            }
+            g2d.drawImage(gameOverText, gameOverTextLeft, gameOverTextTop, null);
+        }
+    }
+
+    // Scoreboard Panel Shape, Rendered Once
+    private BufferedImage getScoreboardPanel(Graphics2D g) {
+        if (scoreboardPanel == null) {
+            scoreboardPanel = g.getDeviceConfiguration().createCompatibleImage(400, 300, Transparency.TRANSLUCENT);
+            Graphics2D g2d = scoreboardPanel.createGraphics();
+            g2d.setColor(Color.black);
+            g2d.fillRoundRect(0, 0, 400, 300, 25, 25); // Increased height for better spacing
+            g2d.dispose();
+        }
+        return scoreboardPanel;
+    }
+
+    // Render All Game Over Text (Message, Scoreboard, High Scores) into One Translucent Image
+    private void renderGameOverText(Graphics2D target) {
+        int centerX = boardWidth / 2;
+        int centerY = boardHeight / 2;
+        gameOverTextLeft = Math.max(0, centerX - 200);
+        gameOverTextTop = Math.max(0, centerY - 150);
+        int bottom = Math.min(boardHeight, centerY + 290);
+        gameOverText = target.getDeviceConfiguration().createCompatibleImage(
+                boardWidth - gameOverTextLeft, bottom - gameOverTextTop, Transparency.TRANSLUCENT);
+        Graphics2D g = gameOverText.createGraphics();
+        g.translate(-gameOverTextLeft, -gameOverTextTop);
+
+        // Draw "Game Over" Message with Shadow
+        g.setFont(HUD_FONT);
+        drawStringWithShadow(g, "Game Over", centerX - 100, centerY - 80, Color.red, Color.darkGray);
+
+        // Display Scoreboard with Shadow
+        g.setFont(SCOREBOARD_TITLE_FONT);
+        int scoreboardX = centerX - 180;
+        int scoreboardY = centerY - 30;
+
+        drawStringWithShadow(g, "----- Scoreboard -----", scoreboardX, scoreboardY, Color.white, Color.darkGray);
+        g.setFont(SCOREBOARD_FONT);
+        drawStringWithShadow(g, "Color Selected: " + snakeType.toString(), scoreboardX, scoreboardY + 30, Color.white, Color.darkGray);
+        drawStringWithShadow(g, "Difficulty: " + difficulty.toString(), scoreboardX, scoreboardY + 60, Color.white, Color.darkGray);
+        String rank = playerName != null && playback == null && !autopilotEnabled ? "  (Rank #" + leaderboard.rank(engine.getScore()) + " of " + leaderboard.size() + ")" : "";
+        drawStringWithShadow(g, "Points: " + engine.getScore() + rank, scoreboardX, scoreboardY + 90, Color.white, Color.darkGray);
+        drawStringWithShadow(g, "Time Played: " + formatTime(elapsedTime), scoreboardX, scoreboardY + 120, Color.white, Color.darkGray);
+
+        // Display "You Got a New High Score!" Message if Applicable
+        if (isNewHighScore) {
+            drawStringWithShadow(g, "You Got a New High Score!", centerX - 150, centerY - 120, Color.green, Color.darkGray);
+        }
+
+        // Display High Scores with Shadow
+        g.setFont(HIGH_SCORES_TITLE_FONT);
+        drawStringWithShadow(g, "----- High Scores -----", scoreboardX, scoreboardY + 160, Color.yellow, Color.darkGray);
+        g.setFont(HIGH_SCORES_FONT);
+        int highScoreY = scoreboardY + 190;
+        List<HighScore> highScores = leaderboard.top(MAX_HIGH_SCORES);
+        for (int i = 0; i < highScores.size(); i++) {
+            HighScore hs = highScores.get(i);
+            drawStringWithShadow(g, (i + 1) + ". " + hs.name + " - " + hs.score, scoreboardX, highScoreY, Color.white, Color.darkGray);
+            highScoreY += 20;
+        }
+
+        // Ask for a Name for the High Score, or Display Restart Instructions Much Lower
+        if (nameEntry != null) {
+            drawStringWithShadow(g, "Your Name: " + nameEntry + "_", centerX - 180, centerY + 250, Color.green, Color.darkGray);
+            drawStringWithShadow(g, "Press Enter to Save or Esc to Skip", centerX - 180, centerY + 275, Color.white, Color.darkGray);
+            g.dispose();
+            return;
+        }
+        drawStringWithShadow(g, "Press 'R' to Restart or 'M' for Main Menu", centerX - 180, centerY + 250, Color.white, Color.darkGray); // Increased Y-coordinate
+        if (lastReplay != null) {
+            drawStringWithShadow(g, "Press 'V' to Watch the Replay", centerX - 180, centerY + 275, Color.white, Color.darkGray);
+        }
+        g.dispose();
+    }
+
+    // Draw Food, Snake and Score; the head slides toward its tile by the interpolation fraction
+    private void drawEntities(Graphics g, float alpha) {
+        if (!spritesEnabled) {
+            sprites = null;
+        } else if (sprites == null || sprites.getTileSize() != tileSize) {
+            sprites = new SpriteAtlas(((Graphics2D) g).getDeviceConfiguration(), tileSize);
+        }
+
+        // Draw Food if Any Free Tile Was Left for It
+        if (engine.hasFood()) {
+            drawTile(g, SpriteAtlas.FOOD, Color.red, engine.getFoodX() * tileSize, engine.getFoodY() * tileSize);
+        }
+
+        // Draw Special Food if Present
+        if (engine.hasSpecialFood()) {
+            drawTile(g, SpriteAtlas.SPECIAL_FOOD, Color.orange, engine.getSpecialFoodX() * tileSize,
+                    engine.getSpecialFoodY() * tileSize);
+        }
+
+        // Draw the Snake Body inside the Window: walk the segments while there are fewer of them
+        // than visible tiles, otherwise test each visible tile, so the cost is bounded by the window
+        int body = SpriteAtlas.body(snakeType);
+        int firstColumn = Math.max(0, cameraX / tileSize);
+        int firstRow = Math.max(0, cameraY / tileSize);
+        int lastColumn = Math.min(engine.getColumns() - 1, (cameraX + boardWidth - 1) / tileSize);
+        int lastRow = Math.min(engine.getRows() - 1, (cameraY + boardHeight - 1) / tileSize);
+        int visibleTiles = (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1);
+        if (engine.getBodyLength() <= visibleTiles) {
+            int columns = engine.getColumns();
+            for (int i = 0; i < engine.getBodyLength(); i++) {
+                int cell = engine.getBodyCell(i);
+                int x = cell % columns;
+                int y = cell / columns;
+                if (x >= firstColumn && x <= lastColumn && y >= firstRow && y <= lastRow) {
+                    drawTile(g, body, snakeColor, x * tileSize, y * tileSize);
+                }
+            }
+        } else {
+            for (int y = firstRow; y <= lastRow; y++) {
+                for (int x = firstColumn; x <= lastColumn; x++) {
+                    if (engine.isBody(x, y)) {
+                        drawTile(g, body, snakeColor, x * tileSize, y * tileSize);
+                    }
+                }
+            }
+        }
+
+        // Draw Snake Head, interpolated from the tile it left on the last tick
+        float behind = gameOver ? 0f : 1f - alpha;
+        int headX = Math.round((engine.getHeadX() - engine.getVelocityX() * behind) * tileSize);
+        int headY = Math.round((engine.getHeadY() - engine.getVelocityY() * behind) * tileSize);
+        drawTile(g, SpriteAtlas.head(snakeType), snakeColor, headX, headY);
+    }
+
+    // Draw One Tile from the Atlas, or as a raised rectangle when sprites are off
+    private void drawTile(Graphics g, int sprite, Color color, int x, int y) {
+        if (sprites != null) {
+            sprites.draw(g, sprite, x, y);
+        } else {
+            g.setColor(color);
+            g.fill3DRect(x, y, tileSize, tileSize, true);
+        }
+    }
+
+    // Center the Camera on the Interpolated Head, clamped to the board; a board smaller than the
+    // window is centered in it
+    private void moveCamera(float alpha) {
+        float behind = gameOver ? 0f : 1f - alpha;
+        int headX = Math.round((engine.getHeadX() - engine.getVelocityX() * behind) * tileSize) + tileSize / 2;
+        int headY = Math.round((engine.getHeadY() - engine.getVelocityY() * behind) * tileSize) + tileSize / 2;
+        cameraX = Viewport.cameraFor(headX, engine.getColumns() * tileSize, boardWidth);
+        cameraY = Viewport.cameraFor(headY, engine.getRows() * tileSize, boardHeight);
+    }
+
+    // Point at a Tile outside the Window with a dot on the window edge, in line from the center
+    private void drawOffscreenMarker(Graphics g, int tileX, int tileY, Color color) {
+        double dx = tileX * tileSize + tileSize / 2 - cameraX - boardWidth / 2.0;
+        double dy = tileY * tileSize + tileSize / 2 - cameraY - boardHeight / 2.0;
+        double scale = Math.max(Math.abs(dx) / (boardWidth / 2.0 - 12), Math.abs(dy) / (boardHeight / 2.0 - 12));
+        if (scale <= 1) {
+            return; // On screen
+        }
+        int x = (int) (boardWidth / 2.0 + dx / scale);
+        int y = (int) (boardHeight / 2.0 + dy / scale);
+        g.setColor(color);
+        g.fillOval(x - 6, y - 6, 12, 12);
+    }
+
+    // Apply the Result Flags of One Engine Tick (called on the game loop thread)
+    public void handleStepResult(int events) {
+        if ((events & (SnakeEngine.ATE_FOOD | SnakeEngine.ATE_SPECIAL_FOOD)) != 0) {
+            this.events.publish(GameEvent.foodEaten(engine.getScore()));
+        }
+        if ((events & SnakeEngine.DIED) != 0) {
+            gameOver = true;
+            gameLoop.stop();
+            calculateElapsedTime();
+            reportLateTicks();
+            Replay finished = null;
+            GameRecord record = null;
+            if (playback == null) {
+                finished = replay;
+                finished.finish(engine.getTick(), engine.getScore());
+                if (!autopilotEnabled) { // Computer games stay out of the history and high scores
+                    record = new GameRecord(snakeType.name(), difficulty.name(), engine.getScore(), elapsedTime,
+                            System.currentTimeMillis());
+                }
+            }
+            this.events.publish(GameEvent.died(engine.getScore(), engine.getTick(), record, finished));
+        }
+    }
+
+    // Subscribe Audio, Persistence and the UI to the Game's Events
+    private void subscribeToEvents() {
+        // The mixer takes a sound without blocking, so it is triggered right on the game loop thread
+        events.subscribe(GameEvent.Type.FOOD_EATEN, Runnable::run, event -> playSoundEffect(eatSoundEffect));
+        events.subscribe(GameEvent.Type.DIED, persistence, this::saveGame);
+        events.subscribe(GameEvent.Type.DIED, SwingUtilities::invokeLater, this::showGameOver);
+        events.subscribe(GameEvent.Type.HIGH_SCORE, persistence, event -> leaderboard.flush());
+    }
+
+    // Save a Finished Game's Replay and History Entry (persistence thread)
+    private void saveGame(GameEvent event) {
+        if (event.replay != null) {
+            try {
+                event.replay.save(new File(LAST_REPLAY_FILE));
+            } catch (IOException e) {
+                System.err.println("Error saving replay.");
+                e.printStackTrace();
+            }
+        }
+        if (event.record != null) {
+            sessionHistory.append(event.record);
+        }
+    }
+
+    // Show the Scoreboard for a Finished Game, asking for a name first if it made the table (EDT)
+    private void showGameOver(GameEvent event) {
+        if (event.replay != null) {
+            lastReplay = event.replay;
+        }
+        if (!gameOver) {
+            return; // Restarted or left for the menu meanwhile
+        }
+        if (event.record != null) {
+            checkHighScore(event.score);
+        }
+        gameOverText = null; // Render the scoreboard for this game over
+        animationTimer.start(); // Start the fade-in animation
+    }
+
+    // Report Ticks the Game Loop Could Not Run on Schedule
+    private void reportLateTicks() {
+        long lateTicks = gameLoop.getLateTicks();
+        if (lateTicks > 0 || gameLoop.getSkippedTicks() > 0) {
+            System.err.printf("Game loop: %d of %d ticks ran late (worst by %.1f ms), %d skipped%n",
+                    lateTicks, gameLoop.getTickCount(), gameLoop.getMaxLateNanos() / 1e6, gameLoop.getSkippedTicks());
+        }
+    }
+
+    // Use an Asset Now if It Is Loaded, otherwise on the EDT once it is
+    private static <T> void whenLoaded(CompletableFuture<T> asset, java.util.function.Consumer<T> use) {
+        if (asset.isDone()) {
+            use.accept(asset.join());
+        } else {
+            asset.thenAccept(loaded -> SwingUtilities.invokeLater(() -> use.accept(loaded)));
+        }
+    }
+
+    private void menuBackgroundLoaded(Image image) {
+        mainMenuBackground = image;
+        menuLayer = null;
+        menuDifficultyLayer = null;
+        requestFrame();
+    }
+
+    // Put the Game Background, Music and Sound Effects to Use
+    private void assetsLoaded(AssetLoader.Assets assets) {
+        gameBackground = assets.gameBackground;
+        gameLayer = null;
+        backgroundMusic = assets.backgroundMusic;
+        playMusic();
+        soundMixer = assets.soundMixer; // Already started by the loader
+        eatSoundEffect = assets.eatSoundEffect;
+        if (gameStarted) {
+            requestFrame();
+        }
+        StartupProbe.mark(StartupProbe.LOADED);
+    }
+
+    // Play Background Music
+    public void playMusic() {
+        if (backgroundMusic != null) {
+            backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
+        }
+    }
+
+    // Play Sound Effect on a Free Mixer Voice (overlaps any sound already playing)
+    public void playSoundEffect(SoundMixer.Sound sound) {
+        SoundMixer mixer = soundMixer;
+        if (mixer != null) {
+            mixer.play(sound);
+        }
+    }
+
+    // Format Time from Milliseconds to MM:SS
+    private String formatTime(long millis) {
+        long seconds = millis / 1000;
+        long minutes = seconds / 60;
+        seconds = seconds % 60;
+        return String.format("%02d:%02d", minutes, seconds);
+    }
+
+    // Calculate Elapsed Time
+    private void calculateElapsedTime() {
+        elapsedTime = (System.nanoTime() - startTime) / 1_000_000L;
+    }
+
+    // Refresh Rate of the Default Screen, used as the render rate
+    private static int displayRefreshRate() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+            if (rate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return rate;
+            }
+        }
+        return DEFAULT_RENDER_RATE;
+    }
+
+    // Advance One Simulation Tick (called by the game loop thread at the difficulty's rate)
+    public void tick() {
+        if (paused || !gameStarted || gameOver) {
+            return;
+        }
+        int events;
+        synchronized (engine) {
+            long nextTick = engine.getTick() + 1;
+            Replay.Cursor cursor = playback;
+            Direction input;
+            if (cursor != null) {
+                input = cursor.next(nextTick);
+            } else if (autopilotEnabled && autopilot != null) {
+                input = autopilot.decide(engine);
+                replay.record(nextTick, input);
+            } else {
+                input = inputQueue.poll(engine);
+                if (input != null) {
+                    perfMonitor.recordInput(System.nanoTime() - inputQueue.getPolledTimestamp()); // Applied by this step
+                } else {
+                    input = Direction.NONE;
+                }
+                replay.record(nextTick, input);
+            }
+            events = engine.step(input);
+        }
+        calculateElapsedTime();
+        handleStepResult(events);
+    }
+
+    // Handle Key Press Events
+    @Override
+    public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            perfOverlayShown = !perfOverlayShown;
+            requestFrame();
+            return;
+        }
+        if (gameOver && nameEntry != null) {
+            handleNameEntryKeys(e);
+        } else if (gameOver) {
+            if (e.getKeyCode() == KeyEvent.VK_R) {
+                restartGame();
+            } else if (e.getKeyCode() == KeyEvent.VK_M) {
+                showMainMenu();
+            } else if (e.getKeyCode() == KeyEvent.VK_V && lastReplay != null) {
+                watchReplay(lastReplay);
+            }
+        } else if (gameStarted) {
+            handleArrowKeys(e);
+        } else {
+            handleStartMenuKeys(e);
+        }
+    }
+
+    // Handle Start Menu Key Presses
+    public void handleStartMenuKeys(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_A) {
+            autopilotEnabled = !autopilotEnabled && canUseAutopilot();
+            menuLayer = null; // The menu layers show the autopilot setting
+            menuDifficultyLayer = null;
+            requestFrame();
+        } else if (e.getKeyCode() == KeyEvent.VK_B) {
+            boardSize = BoardSize.values()[(boardSize.ordinal() + 1) % BoardSize.values().length];
+            setBoard(boardSize.columns > 0 ? boardSize.columns : boardWidth / tileSize,
+                    boardSize.rows > 0 ? boardSize.rows : boardHeight / tileSize);
+            menuLayer = null; // The menu layers show the board size
+            menuDifficultyLayer = null;
+            requestFrame();
+        } else if (e.getKeyCode() == KeyEvent.VK_1) {
+            snakeType = SnakeType.GREEN;
+            snakeTypeSelected = true;
+            setSnakeAttributes(snakeType);
+            requestFrame();
+        } else if (e.getKeyCode() == KeyEvent.VK_2) {
+            snakeType = SnakeType.BLUE;
+            snakeTypeSelected = true;
+            setSnakeAttributes(snakeType);
+            requestFrame();
+        } else if (e.getKeyCode() == KeyEvent.VK_3) {
+            snakeType = SnakeType.YELLOW;
+            snakeTypeSelected = true;
+            setSnakeAttributes(snakeType);
+            requestFrame();
+        }
+
+        if (snakeTypeSelected) {
+            if (e.getKeyCode() == KeyEvent.VK_E) {
+                difficulty = Difficulty.EASY;
+                startGame();
+            } else if (e.getKeyCode() == KeyEvent.VK_M) {
+                difficulty = Difficulty.MEDIUM;
+                startGame();
+            } else if (e.getKeyCode() == KeyEvent.VK_H) {
+                difficulty = Difficulty.HARD;
+                startGame();
+            }
+        }
+    }
+
+    // Handle Arrow Key Presses for Snake Movement
+    public void handleArrowKeys(KeyEvent e) {
+        if (playback != null || autopilotEnabled) {
+            return; // A replay or the autopilot supplies the inputs
+        }
+        Direction direction;
+        if (e.getKeyCode() == KeyEvent.VK_UP) {
+            direction = Direction.UP;
+        } else if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+            direction = Direction.DOWN;
+        } else if (e.getKeyCode() == KeyEvent.VK_LEFT) {
+            direction = Direction.LEFT;
+        } else if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
+            direction = Direction.RIGHT;
+        } else {
+            return;
+        }
+        // Date the press from the event, so time spent waiting in the AWT event queue counts as lag
+        long queuedMillis = Math.max(0, System.currentTimeMillis() - e.getWhen());
+        inputQueue.offer(direction, System.nanoTime() - queuedMillis * 1_000_000L);
+    }
+
+    // Switch to a Board of the Given Size in Tiles (EDT, while the game loop is stopped)
+    void setBoard(int columns, int rows) {
+        engine = new SnakeEngine(columns, rows, random);
+        autopilot = null; // Built on first use for this board size
+        autopilotEnabled = autopilotEnabled && canUseAutopilot();
+        gameLayer = null; // The game layer has grid lines only for a board that fits the window
+    }
+
+    // Check the Board Scrolls, i.e. does not exactly fit the window
+    private boolean isScrolling() {
+        return engine.getColumns() * tileSize != boardWidth || engine.getRows() * tileSize != boardHeight;
+    }
+
+    // The Autopilot's Search Arrays Grow with the Board, so it is only offered on smaller boards
+    private boolean canUseAutopilot() {
+        return (long) engine.getColumns() * engine.getRows() <= Autopilot.MAX_CELLS;
+    }
+
+    private String boardSizeName() {
+        return isScrolling() ? engine.getColumns() + " x " + engine.getRows() : "Window";
+    }
+
+    // Build the Autopilot for This Board if It Is Playing
+    private void prepareAutopilot() {
+        if (autopilotEnabled && autopilot == null) {
+            autopilot = new Autopilot(engine.getColumns(), engine.getRows());
+        }
+    }
+
+    // Restart the Game
+    public void restartGame() {
+        prepareAutopilot();
+        synchronized (engine) {
+            beginRecording(); // Reset snake, food and score
+        }
+        inputQueue.clear();
+        gameOver = false;
+        startTime = System.nanoTime(); // Reset start time
+        elapsedTime = 0; // Reset elapsed time
+        scoreboardOpacity = 0f; // Reset opacity for fade-in
+        animationTimer.stop(); // Stop any ongoing animation
+        isNewHighScore = false; // Reset the high score flag
+        nameEntry = null;
+        gameOverText = null; // Drop the previous scoreboard
+        perfMonitor.reset();
+        gameLoop.start(difficulty.speed);
+        requestFrame();
+    }
+
+    // Show Main Menu
+    public void showMainMenu() {
+        gameStarted = false;
+        gameOver = false;
+        snakeTypeSelected = false;
+        difficultySelected = false;
+
+        // Reset Snake Attributes
+        gameLoop.stop();
+        synchronized (engine) {
+            engine.reset(); // Reset snake, food, score and velocity
+            playback = null;
+        }
+        inputQueue.clear();
+        elapsedTime = 0; // Reset elapsed time
+        scoreboardOpacity = 0f; // Reset opacity for fade-in
+        animationTimer.stop(); // Ensure the animation timer is stopped
+        isNewHighScore = false; // Reset the high score flag
+        nameEntry = null;
+        gameOverText = null; // Drop the previous scoreboard
+        requestFrame();
+    }
+
+    // Helper Method to Draw Strings with Shadow
+    private void drawStringWithShadow(Graphics g, String text, int x, int y, Color textColor, Color shadowColor) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(shadowColor);
+        g2d.drawString(text, x + 2, y + 2); // Shadow offset
+        g2d.setColor(textColor);
+        g2d.drawString(text, x, y);
+    }
+
+    // Open the Leaderboard Journal and Carry Over the Old High Score File in the Background; the
+    // table shows once they are in
+    private void loadHighScores() {
+        leaderboard.open(Paths.get(LEADERBOARD_FILE))
+                .thenCompose(opened -> highScoreStore.load())
+                .thenAccept(scores -> {
+                    for (HighScore score : scores) {
+                        leaderboard.submit(score.name, score.score); // Kept only where better
+                    }
+                    SwingUtilities.invokeLater(() -> {
+                        if (gameOver) {
+                            gameOverText = null; // Re-render the scoreboard with the loaded table
+                            requestFrame();
+                        }
+                    });
+                });
+    }
+
+    // Record the Finished Game: under the session's name once one is known, otherwise by asking
+    // for a name on the scoreboard if the score makes the top of the table
+    private void checkHighScore(int score) {
+        if (playerName != null) {
+            submitHighScore(playerName, score);
+            return;
+        }
+        List<HighScore> top = leaderboard.top(MAX_HIGH_SCORES);
+        if (top.size() < MAX_HIGH_SCORES || score > top.get(top.size() - 1).score) {
+            isNewHighScore = true; // Set the flag to display the message
+            nameEntry = new StringBuilder();
+            nameEntryScore = score;
+        }
+    }
+
+    // Put a Score on the Leaderboard (in memory, so at once) and announce it if it is the player's
+    // new best; the message shows when it also makes the top of the table
+    private void submitHighScore(String name, int score) {
+        boolean top = leaderboard.rank(score) <= MAX_HIGH_SCORES;
+        boolean best = leaderboard.submit(name, score);
+        isNewHighScore = best && top;
+        if (best) {
+            events.publish(GameEvent.highScore(name, score));
+        }
+    }
+
+    // Type a Name for the High Score on the Scoreboard: Enter saves it, Escape skips it
+    private void handleNameEntryKeys(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+            String name = nameEntry.toString().trim();
+            nameEntry = null;
+            if (!name.isEmpty()) {
+                playerName = name;
+                submitHighScore(playerName, nameEntryScore);
+            }
+        } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+            nameEntry = null;
+            isNewHighScore = false;
+        } else if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE && nameEntry.length() > 0) {
+            nameEntry.setLength(nameEntry.length() - 1);
+        } else {
+            return; // Characters arrive through keyTyped
+        }
+        gameOverText = null; // The scoreboard shows the name being typed
+        requestFrame();
+    }
+
+    // Show the Game with Its Menu at Once while the assets load in parallel off the EDT, each put to
+    // use as it arrives; with -Dsnake.startup=eager, show a loading screen until all are loaded
+    static void launch(JFrame frame, int boardWidth, int boardHeight) {
+        if ("eager".equals(System.getProperty("snake.startup"))) {
+            launchEager(frame, boardWidth, boardHeight);
+            return;
+        }
+        AssetLoader.Loading loading = new AssetLoader(boardWidth, boardHeight, (bytes, total, assets, count) -> { }).start();
+        SnakeGame snakeGame = new SnakeGame(boardWidth, boardHeight, frame, loading);
+        frame.add(snakeGame);
+        frame.pack();
+        frame.setLocationRelativeTo(null); // Center the frame on the screen
+        frame.setVisible(true);
+        Component focus = snakeGame.canvas != null ? snakeGame.canvas : snakeGame;
+        focus.requestFocusInWindow(); // Request focus for key events
+    }
+
+    // Start the Game without a Display, drawing frames into an image at the display rate: for the
+    // cold-start harness and for training the class data sharing archive on a headless machine
+    static void launchOffscreen(int boardWidth, int boardHeight) {
+        AssetLoader.Loading loading = new AssetLoader(boardWidth, boardHeight, (bytes, total, assets, count) -> { }).start();
+        if ("eager".equals(System.getProperty("snake.startup"))) {
+            loading = AssetLoader.Loading.of(loading.assets.join());
+        }
+        SnakeGame snakeGame = new SnakeGame(boardWidth, boardHeight, null, loading);
+        BufferedImage screen = new BufferedImage(boardWidth, boardHeight, BufferedImage.TYPE_INT_RGB);
+        Timer refresh = new Timer(1000 / DEFAULT_RENDER_RATE, e -> {
+            Graphics g = screen.createGraphics();
+            snakeGame.paintFrame(g);
+            g.dispose();
+        });
+        refresh.setInitialDelay(0);
+        refresh.start();
+    }
+
+    // Show a Loading Screen in the Frame, load all assets in parallel off the EDT, then swap in the game
+    static void launchEager(JFrame frame, int boardWidth, int boardHeight) {
+        LoadingScreen loadingScreen = new LoadingScreen(boardWidth, boardHeight);
+        frame.add(loadingScreen);
+        frame.pack();
+        frame.setLocationRelativeTo(null); // Center the frame on the screen
+        frame.setVisible(true);
+
+        new AssetLoader(boardWidth, boardHeight, loadingScreen::setProgress).load().thenAccept(assets ->
+                SwingUtilities.invokeLater(() -> {
+                    SnakeGame snakeGame = new SnakeGame(boardWidth, boardHeight, frame, assets);
+                    frame.remove(loadingScreen);
+                    frame.add(snakeGame);
+                    frame.pack();
+                    Component focus = snakeGame.canvas != null ? snakeGame.canvas : snakeGame;
+                    focus.requestFocusInWindow(); // Request focus for key events
+                }));
+    }
+
+    // Main Method to Run the Game
+    public static void main(String[] args) {
+        JFrame frame = new JFrame("Snake Game");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setResizable(false);
+        // Increased resolution to 1200x800
+        SwingUtilities.invokeLater(() -> launch(frame, 1200, 800));
+    }
+
+    // Empty Implementations for KeyListener Interface Methods
+    @Override
+    public void keyReleased(KeyEvent e) {
+        // Not used but must be implemented
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+        char c = e.getKeyChar();
+        if (gameOver && nameEntry != null && c != KeyEvent.CHAR_UNDEFINED && !Character.isISOControl(c)
+                && nameEntry.length() < HighScoreStore.MAX_NAME_LENGTH) {
+            nameEntry.append(c);
+            gameOverText = null; // The scoreboard shows the name being typed
+            requestFrame();
+        }
+    }
+}
\ No newline at end of file
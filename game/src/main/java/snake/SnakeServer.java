@@ -0,0 +1,345 @@
+package snake;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+// Authoritative Multiplayer Server: one thread runs a selector over every connection and steps a
+// MultiplayerBoard at a fixed tick rate between selects. Clients only send their name and turns;
+// the server owns the board and after each step encodes one TICK delta that is copied to every
+// player's outgoing buffer and written without blocking. A client whose unsent data grows past
+// MAX_BACKLOG_BYTES cannot keep up and is disconnected rather than buffered without bound.
+// Run with: java snake.SnakeServer [port] [columns] [rows] [tick ms] [food]
+public class SnakeServer implements Runnable {
+    static final int DEFAULT_PORT = 7777;
+    static final int MAX_BACKLOG_BYTES = 256 * 1024;
+    private static final int MAX_CLIENT_MESSAGE_BYTES = 64; // Clients only send names and turns
+
+    private final MultiplayerBoard board;
+    private final int tickMillis;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private final List<Client> clients = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>(); // Run on the server thread
+    private ByteBuffer frame = ByteBuffer.allocate(4096); // The current tick's message, shared by all clients
+    private int[] left = new int[16]; // Players who left since the last tick
+    private int leftCount;
+    private volatile boolean running = true;
+    private volatile boolean ticking = true;
+
+    // Statistics, written by the server thread
+    private final LatencyHistogram tickTimes = new LatencyHistogram(); // Step, encode and send
+    private volatile long bytesSent;
+    private volatile long droppedClients;
+
+    // One Connection; outgoing data sits in [0, position) of out
+    private static final class Client {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocate(256);
+        ByteBuffer out = ByteBuffer.allocateDirect(4096);
+        int playerId = -1; // Set by HELLO
+
+        Client(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+
+    // Constructor; binds the port (0 for any free one) and starts the server thread
+    public SnakeServer(int port, MultiplayerBoard board, int tickMillis) throws IOException {
+        this.board = board;
+        this.tickMillis = tickMillis;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this, "Snake Server");
+        thread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    // Stop the Server and Close Every Connection
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // Hold or Resume the Board (connections keep being served while it is held)
+    public void setTicking(boolean ticking) {
+        this.ticking = ticking;
+    }
+
+    // Run a Task on the Server Thread, e.g. to read the board safely
+    public <T> CompletableFuture<T> call(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        tasks.add(() -> result.complete(task.get()));
+        selector.wakeup();
+        return result;
+    }
+
+    @Override
+    public void run() {
+        long tickNanos = tickMillis * 1_000_000L;
+        long nextTick = System.nanoTime() + tickNanos;
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait >= 1_000_000L) {
+                    selector.select(wait / 1_000_000L);
+                } else {
+                    selector.selectNow();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+                for (Runnable task; (task = tasks.poll()) != null; ) {
+                    task.run();
+                }
+
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    if (ticking) {
+                        tick();
+                        tickTimes.record(System.nanoTime() - now);
+                    }
+                    nextTick += tickNanos;
+                    if (now - nextTick > tickNanos) {
+                        nextTick = now + tickNanos; // Too far behind to catch up; keep the rate from here
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Server stopped by an I/O error.");
+            e.printStackTrace();
+        } finally {
+            for (Client client : new ArrayList<>(clients)) {
+                disconnect(client);
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Step the Board and Send the Changes to Every Player
+    private void tick() {
+        board.step();
+        int needed = NetProtocol.maxTickBytes(board, leftCount);
+        if (frame.capacity() < needed) {
+            frame = ByteBuffer.allocate(Math.max(needed, frame.capacity() * 2));
+        }
+        frame.clear();
+        NetProtocol.writeTick(frame, board, left, leftCount);
+        leftCount = 0;
+        frame.flip();
+        for (int i = clients.size() - 1; i >= 0; i--) { // Backwards, as slow clients are removed
+            Client client = clients.get(i);
+            if (client.playerId >= 0) {
+                send(client, frame.duplicate());
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Client client = (Client) key.attachment();
+        try {
+            if (key.isReadable()) {
+                read(client);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(client);
+            }
+        } catch (IOException | RuntimeException e) {
+            disconnect(client); // Reset by the peer, or a protocol error; never the whole server
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                Client client = new Client(channel, key);
+                key.attach(client);
+                clients.add(client);
+            }
+        } catch (IOException e) {
+            System.err.println("Error accepting a connection.");
+            e.printStackTrace();
+        }
+    }
+
+    // Read and Handle Every Complete Message from a Client
+    private void read(Client client) throws IOException {
+        if (client.channel.read(client.in) < 0) {
+            disconnect(client);
+            return;
+        }
+        ByteBuffer in = client.in;
+        in.flip();
+        while (in.remaining() >= NetProtocol.HEADER_BYTES) {
+            int length = in.getInt(in.position());
+            if (length < 1 || length > MAX_CLIENT_MESSAGE_BYTES) {
+                throw new IOException("Bad message length " + length);
+            }
+            if (in.remaining() < NetProtocol.HEADER_BYTES + length) {
+                break;
+            }
+            ByteBuffer message = in.slice(in.position() + NetProtocol.HEADER_BYTES, length); // Decoding stops at its end
+            in.position(in.position() + NetProtocol.HEADER_BYTES + length);
+            byte type = message.get();
+            if (type == NetProtocol.HELLO && client.playerId < 0) {
+                if (length < 2 || (message.get(1) & 0xFF) > length - 2) {
+                    throw new IOException("Bad HELLO of " + length + " bytes");
+                }
+                join(client, NetProtocol.getName(message));
+            } else if (type == NetProtocol.INPUT && client.playerId >= 0) {
+                if (length < 2) {
+                    throw new IOException("Bad INPUT of " + length + " bytes");
+                }
+                board.queueInput(client.playerId, NetProtocol.direction(message.get()));
+            } // Anything else, or the rest of a longer message, is what this version does not read
+        }
+        in.compact();
+    }
+
+    // Add the Client's Snake and Send It the Board
+    private void join(Client client, String name) throws IOException {
+        int id = board.addPlayer(name);
+        if (id < 0) {
+            throw new IOException("Board is full");
+        }
+        client.playerId = id;
+        ByteBuffer snapshot = ByteBuffer.allocate(NetProtocol.maxSnapshotBytes(board));
+        NetProtocol.writeSnapshot(snapshot, board, tickMillis, id);
+        snapshot.flip();
+        send(client, snapshot);
+    }
+
+    // Queue a Message for a Client and Write as Much as the Socket Takes Now
+    private void send(Client client, ByteBuffer message) {
+        ByteBuffer out = client.out;
+        if (out.position() > MAX_BACKLOG_BYTES) {
+            droppedClients++;
+            disconnect(client);
+            return;
+        }
+        if (out.remaining() < message.remaining()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(out.capacity() * 2, out.position() + message.remaining()));
+            out.flip();
+            grown.put(out);
+            client.out = out = grown;
+        }
+        out.put(message);
+        try {
+            flush(client);
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+
+    // Write Pending Data; wait for OP_WRITE only while some is left
+    private void flush(Client client) throws IOException {
+        ByteBuffer out = client.out;
+        out.flip();
+        bytesSent += client.channel.write(out);
+        out.compact();
+        int interest = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (client.key.interestOps() != interest) {
+            client.key.interestOps(interest);
+        }
+    }
+
+    private void disconnect(Client client) {
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        if (clients.remove(client) && client.playerId >= 0) {
+            board.removePlayer(client.playerId);
+            if (leftCount == left.length) {
+                left = Arrays.copyOf(left, left.length * 2);
+            }
+            left[leftCount++] = client.playerId;
+        }
+    }
+
+    // Statistics
+    public LatencyHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getDroppedClients() {
+        return droppedClients;
+    }
+
+    public int getPlayerCount() {
+        return board.getPlayerCount();
+    }
+
+    // Board Being Served; only touch it from the server thread, through call()
+    MultiplayerBoard getBoard() {
+        return board;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int tickMillis = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int food = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+
+        SnakeServer server = new SnakeServer(port, new MultiplayerBoard(columns, rows, food, new Random()), tickMillis);
+        System.out.printf("Serving a %dx%d board on port %d, one tick every %d ms%n", columns, rows, server.getPort(), tickMillis);
+        long lastBytes = 0;
+        while (true) {
+            Thread.sleep(5000);
+            long bytes = server.getBytesSent();
+            int players = server.getPlayerCount();
+            LatencyHistogram ticks = server.getTickTimes();
+            System.out.printf("%d players, tick p50 %.1f us, p99 %.1f us, max %.1f us, %.0f B/s per player%n",
+                    players, ticks.percentile(50) / 1e3, ticks.percentile(99) / 1e3, ticks.getMax() / 1e3,
+                    players == 0 ? 0.0 : (bytes - lastBytes) / 5.0 / players);
+            lastBytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package snake;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.sound.sampled.*;
+
+// Software Sound-Effect Mixer: effects are decoded once into 16-bit PCM kept in memory, and a
+// dedicated thread mixes a fixed pool of voices into one SourceDataLine. Overlapping effects play
+// together instead of restarting a shared Clip, and trigger-to-output latency is measured per voice.
+public class SoundMixer implements Runnable {
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    public static final int DEFAULT_BUFFER_FRAMES = 1024; // About 23 ms at 44.1 kHz
+    private static final int CHANNELS = 2;
+    private static final int VOICES = 16;
+
+    // Decoded Sound Effect: interleaved stereo samples in FORMAT
+    public static final class Sound {
+        final short[] samples;
+        final float volume;
+
+        Sound(short[] samples, float volume) {
+            this.samples = samples;
+            this.volume = volume;
+        }
+
+        public int getFrames() {
+            return samples.length / CHANNELS;
+        }
+    }
+
+    // Sound Triggered at a Time, published to the mixer thread as one object
+    private static final class Trigger {
+        final Sound sound;
+        final long time;
+
+        Trigger(Sound sound, long time) {
+            this.sound = sound;
+            this.time = time;
+        }
+    }
+
+    // Triggers Waiting for the Mixer Thread, claimed lock-free by any thread
+    private final AtomicReferenceArray<Trigger> pending = new AtomicReferenceArray<>(VOICES);
+
+    // Voices, owned by the mixer thread
+    private final Sound[] voices = new Sound[VOICES];
+    private final int[] positions = new int[VOICES];
+
+    // Mix Buffers, preallocated for one chunk
+    private final int chunkFrames;
+    private final int[] mixBuffer;
+    private final byte[] outputBuffer;
+
+    private final int bufferFrames;
+    private SourceDataLine line;
+    private Thread thread;
+
+    // Latency Statistics (trigger to estimated start of output), written by the mixer thread
+    private volatile long latencyCount;
+    private volatile long latencyTotalNanos;
+    private volatile long latencyMaxNanos;
+    private final AtomicLong droppedTriggers = new AtomicLong(); // Counted by any thread
+
+    // Constructor; bufferFrames is the size of the output line buffer
+    public SoundMixer(int bufferFrames) {
+        this.bufferFrames = bufferFrames;
+        this.chunkFrames = Math.max(64, bufferFrames / 4);
+        mixBuffer = new int[chunkFrames * CHANNELS];
+        outputBuffer = new byte[chunkFrames * CHANNELS * 2];
+    }
+
+    // Open the Output Line and Start Mixing; returns false if no audio output is available
+    public boolean start() {
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, bufferFrames * FORMAT.getFrameSize());
+            line.start();
+        } catch (Exception e) {
+            System.err.println("Error opening audio output, sound effects disabled.");
+            e.printStackTrace();
+            line = null;
+            return false;
+        }
+        thread = new Thread(this, "Sound Mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+        return true;
+    }
+
+    // Decode a Sound Effect File into In-Memory PCM
+    public static Sound decode(File file) throws IOException, UnsupportedAudioFileException {
+        return decode(file, 1f);
+    }
+
+    public static Sound decode(File file, float volume) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+            return decode(source, volume);
+        }
+    }
+
+    // Decode an Audio Stream (any format Java Sound can convert) into In-Memory PCM
+    public static Sound decode(AudioInputStream source, float volume) throws IOException {
+        InputStream converted = AudioSystem.getAudioInputStream(FORMAT, source);
+        byte[] bytes = converted.readAllBytes();
+        short[] samples = new short[bytes.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] << 8)); // Little-endian
+        }
+        return new Sound(samples, volume);
+    }
+
+    // Queue a Sound to Start on the Next Mixed Chunk; callable from any thread, never blocks
+    public void play(Sound sound) {
+        if (sound == null || line == null) {
+            return;
+        }
+        Trigger trigger = new Trigger(sound, System.nanoTime());
+        for (int i = 0; i < VOICES; i++) {
+            if (pending.get(i) == null && pending.compareAndSet(i, null, trigger)) {
+                return;
+            }
+        }
+        droppedTriggers.incrementAndGet(); // More triggers than voices within one chunk
+    }
+
+    @Override
+    public void run() {
+        int frameSize = FORMAT.getFrameSize();
+        float framesPerNano = FORMAT.getFrameRate() / 1e9f;
+        while (true) {
+            long queuedFrames = (line.getBufferSize() - line.available()) / frameSize;
+            long outputStart = System.nanoTime() + (long) (queuedFrames / framesPerNano);
+            startPendingVoices(outputStart);
+            mix(outputBuffer, chunkFrames);
+            line.write(outputBuffer, 0, outputBuffer.length); // Blocks until the line has room
+        }
+    }
+
+    // Move Queued Triggers into Free Voices, recording when their first frame will be heard
+    private void startPendingVoices(long outputStart) {
+        for (int i = 0; i < VOICES; i++) {
+            Trigger trigger = pending.get(i) == null ? null : pending.getAndSet(i, null);
+            if (trigger == null) {
+                continue;
+            }
+            int voice = freeVoice();
+            if (voice < 0) {
+                droppedTriggers.incrementAndGet();
+                continue;
+            }
+            voices[voice] = trigger.sound;
+            positions[voice] = 0;
+            long latency = Math.max(0, outputStart - trigger.time);
+            latencyCount++;
+            latencyTotalNanos += latency;
+            if (latency > latencyMaxNanos) {
+                latencyMaxNanos = latency;
+            }
+        }
+    }
+
+    private int freeVoice() {
+        for (int v = 0; v < VOICES; v++) {
+            if (voices[v] == null) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    // Mix All Active Voices into the Output as 16-bit Little-Endian PCM (at most one chunk of frames)
+    void mix(byte[] out, int frames) {
+        int samples = frames * CHANNELS;
+        Arrays.fill(mixBuffer, 0, samples, 0);
+        for (int v = 0; v < VOICES; v++) {
+            Sound sound = voices[v];
+            if (sound == null) {
+                continue;
+            }
+            int position = positions[v];
+            int count = Math.min(samples, sound.samples.length - position);
+            if (sound.volume == 1f) {
+                for (int i = 0; i < count; i++) {
+                    mixBuffer[i] += sound.samples[position + i];
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    mixBuffer[i] += (int) (sound.samples[position + i] * sound.volume);
+                }
+            }
+            positions[v] = position + count;
+            if (positions[v] >= sound.samples.length) {
+                voices[v] = null; // Voice finished
+            }
+        }
+        for (int i = 0; i < samples; i++) {
+            int sample = mixBuffer[i];
+            if (sample > Short.MAX_VALUE) sample = Short.MAX_VALUE; // Clip instead of wrapping
+            else if (sample < Short.MIN_VALUE) sample = Short.MIN_VALUE;
+            out[2 * i] = (byte) sample;
+            out[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    public boolean isRunning() {
+        return line != null;
+    }
+
+    // Latency Statistics
+    public long getLatencyCount() {
+        return latencyCount;
+    }
+
+    public double getAverageLatencyMillis() {
+        long count = latencyCount;
+        return count == 0 ? 0 : latencyTotalNanos / 1e6 / count;
+    }
+
+    public double getMaxLatencyMillis() {
+        return latencyMaxNanos / 1e6;
+    }
+
+    public long getDroppedTriggers() {
+        return droppedTriggers.get();
+    }
+
+    // Measure Trigger-to-Output Latency: java SoundMixer [sound file] [buffer frames]
+    public static void main(String[] args) throws Exception {
+        File file = new File(args.length > 0 ? args[0] : "audio/eat.wav.wav");
+        int bufferFrames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BUFFER_FRAMES;
+        Sound sound = decode(file);
+        SoundMixer mixer = new SoundMixer(bufferFrames);
+        if (!mixer.start()) {
+            return;
+        }
+        for (int i = 0; i < 50; i++) {
+            mixer.play(sound);
+            Thread.sleep(37); // Off the chunk grid so triggers land at varied points
+        }
+        Thread.sleep(500);
+        System.out.printf("Buffer %d frames (%.1f ms): %d triggers, latency avg %.2f ms, max %.2f ms, dropped %d%n",
+                bufferFrames, bufferFrames * 1000.0 / FORMAT.getFrameRate(), mixer.getLatencyCount(),
+                mixer.getAverageLatencyMillis(), mixer.getMaxLatencyMillis(), mixer.getDroppedTriggers());
+    }
+}
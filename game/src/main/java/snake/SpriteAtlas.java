@@ -0,0 +1,60 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Pre-Rendered Tiles in One Image: food, special food, and a head and body tile per SnakeType,
+// drawn once with the same raised fill3DRect the game used per tile. Drawing a tile is then one
+// image copy instead of the fill and four edge lines of fill3DRect, and since every tile comes
+// from the same opaque, display-compatible image, Java2D keeps one accelerated copy of it in
+// video memory and every draw is a blit from that surface.
+public class SpriteAtlas {
+    // Sprite Indices, left to right in the atlas
+    static final int FOOD = 0;
+    static final int SPECIAL_FOOD = 1;
+    private static final int FIRST_SNAKE = 2; // Then a head and a body per SnakeType
+
+    private final BufferedImage image;
+    private final int tileSize;
+
+    // Constructor; config may be null (headless), for a plain RGB image
+    public SpriteAtlas(GraphicsConfiguration config, int tileSize) {
+        this.tileSize = tileSize;
+        int count = FIRST_SNAKE + 2 * SnakeGame.SnakeType.values().length;
+        image = config != null
+                ? config.createCompatibleImage(count * tileSize, tileSize, Transparency.OPAQUE)
+                : new BufferedImage(count * tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        paint(g, FOOD, Color.red);
+        paint(g, SPECIAL_FOOD, Color.orange);
+        for (SnakeGame.SnakeType type : SnakeGame.SnakeType.values()) {
+            Color color = SnakeGame.colorOf(type);
+            paint(g, head(type), color);
+            paint(g, body(type), color);
+        }
+        g.dispose();
+    }
+
+    private void paint(Graphics2D g, int sprite, Color color) {
+        g.setColor(color);
+        g.fill3DRect(sprite * tileSize, 0, tileSize, tileSize, true);
+    }
+
+    static int head(SnakeGame.SnakeType type) {
+        return FIRST_SNAKE + 2 * type.ordinal();
+    }
+
+    static int body(SnakeGame.SnakeType type) {
+        return FIRST_SNAKE + 2 * type.ordinal() + 1;
+    }
+
+    // Copy a Sprite with Its Top-Left Corner at (x, y)
+    public void draw(Graphics g, int sprite, int x, int y) {
+        int source = sprite * tileSize;
+        g.drawImage(image, x, y, x + tileSize, y + tileSize, source, 0, source + tileSize, tileSize, null);
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+}
@@ -0,0 +1,41 @@
+package snake;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Startup Timing for the Cold-Start Harness. With -Dsnake.startupProbe=<launch time in epoch
+// millis> (or =true to time from the JVM process start), prints the milliseconds from launch to
+// each milestone once, and exits when the menu has been shown and every asset has loaded.
+// When the property is absent a milestone costs one static check.
+final class StartupProbe {
+    static final String FIRST_PAINT = "first-paint"; // Any frame on screen
+    static final String MENU = "menu"; // The menu with its background image
+    static final String LOADED = "loaded"; // Game background, music and sound effects ready
+
+    private static final String SETTING = System.getProperty("snake.startupProbe");
+    static final boolean ENABLED = SETTING != null;
+    private static final Set<String> reached = ConcurrentHashMap.newKeySet();
+
+    private StartupProbe() {
+    }
+
+    // Record a Milestone; callable from any thread
+    static void mark(String milestone) {
+        if (!ENABLED || !reached.add(milestone)) {
+            return;
+        }
+        System.out.println("startup " + milestone + " " + (System.currentTimeMillis() - launchMillis()) + " ms");
+        if (reached.contains(MENU) && reached.contains(LOADED)) {
+            System.out.flush();
+            System.exit(0);
+        }
+    }
+
+    private static long launchMillis() {
+        if (SETTING.chars().allMatch(Character::isDigit) && !SETTING.isEmpty()) {
+            return Long.parseLong(SETTING);
+        }
+        return ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+    }
+}
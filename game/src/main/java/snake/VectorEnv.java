@@ -0,0 +1,479 @@
+package snake;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Vectorized Snake Environment for Training Agents: many independent games of the single-player
+// rules in SnakeEngine, stepped together gym style with reset() and step(actions). Each game is an
+// index into arrays of state (structure of arrays), every body is a ring in one shared cell array,
+// and the games are split over a fork/join pool, so one step streams through flat memory on
+// every core. Each game draws from its own SplitMix64 stream, so results do not depend on the
+// thread count.
+//
+// Observations live in direct buffers, allocated once and updated in place by each step, so
+// nothing is copied or allocated per step and a trainer (or native code) can read them directly:
+//   grid      one byte per cell per game, EMPTY, BODY, HEAD, FOOD or SPECIAL_FOOD
+//   features  FEATURES floats per game: head x, y, velocity x, y, food x, y, special food x, y
+//             (-1 when there is none)
+//   rewards   points scored this step (1 for food, the bonus for special food), or -1 for dying
+//   dones     RUNNING, DIED, or TRUNCATED after 2 x cells steps without eating (or a full board)
+// The grid is also the board the rules check collisions against, and a step only rewrites the
+// cells that changed: the new head, the old head and the tail, and any food placed.
+//
+// A finished game is reset within the same step (its observation is then the new game's first),
+// and its reward and done code still report how it ended. Actions are Direction ordinals, one
+// byte per game; NONE or a reversal keeps the snake's course, as in SnakeEngine.steer.
+//
+// Usage: java snake.VectorEnv [games] [columns] [rows] [steps] [threads]
+public class VectorEnv {
+    public static final int FEATURES = 8;
+
+    // Grid Cell Codes
+    public static final byte EMPTY = 0;
+    public static final byte BODY = 1;
+    public static final byte HEAD = 2;
+    public static final byte FOOD = 3;
+    public static final byte SPECIAL_FOOD = 4;
+
+    // Done Codes
+    public static final byte RUNNING = 0;
+    public static final byte DIED = 1;
+    public static final byte TRUNCATED = 2;
+
+    static final float DEATH_REWARD = -1;
+    private static final int LEAF_GAMES = 1024; // Games stepped by one task without splitting further
+    private static final int START_X = SnakeEngine.START_X; // Starting head, as in SnakeEngine.reset
+    private static final int START_Y = SnakeEngine.START_Y;
+
+    // Scoring Rules, the shipped game's defaults in SnakeEngine
+    private static final int SPECIAL_FOOD_CHANCE = 2;
+    private static final int SPECIAL_FOOD_CHANCE_SCALE = 10;
+    private static final int SPECIAL_FOOD_BONUS = 5;
+
+    // Velocity by Direction ordinal: NONE, UP, DOWN, LEFT, RIGHT
+    private static final int[] DX = { 0, 0, 0, -1, 1 };
+    private static final int[] DY = { 0, -1, 1, 0, 0 };
+
+    private final int columns;
+    private final int rows;
+    private final int cellCount;
+    private final int gameCount;
+    private final int stallTicks;
+    private final ForkJoinPool pool;
+
+    // Observations
+    private final ByteBuffer grid;
+    private final FloatBuffer features;
+    private final FloatBuffer rewards;
+    private final ByteBuffer dones;
+
+    // Games, one entry per array
+    private final int[] body; // Body rings, cellCount cells per game, neck first
+    private final int[] bodyStart; // Ring index of the neck
+    private final int[] bodyLength;
+    private final int[] headX;
+    private final int[] headY;
+    private final int[] velocityX;
+    private final int[] velocityY;
+    private final int[] food; // Cell, -1 for none
+    private final int[] specialFood;
+    private final int[] score;
+    private final int[] ticks;
+    private final int[] lastMeal;
+    private final long[] random; // SplitMix64 state
+
+    // Statistics per game, summed by the getters
+    private final long[] episodes;
+    private final long[] episodeScores;
+    private final int[] bestScore;
+
+    private long steps;
+
+    // Constructor; every game starts at once, as after reset()
+    public VectorEnv(int columns, int rows, int games, long seed, ForkJoinPool pool) {
+        if (columns <= START_X || rows <= START_Y || games < 1 || (long) columns * rows * games > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid environment of " + games + " games on " + columns + "x" + rows);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.cellCount = columns * rows;
+        this.gameCount = games;
+        this.stallTicks = 2 * cellCount;
+        this.pool = pool;
+
+        grid = ByteBuffer.allocateDirect(cellCount * games);
+        features = ByteBuffer.allocateDirect(FEATURES * games * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        rewards = ByteBuffer.allocateDirect(games * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        dones = ByteBuffer.allocateDirect(games);
+
+        body = new int[cellCount * games];
+        bodyStart = new int[games];
+        bodyLength = new int[games];
+        headX = new int[games];
+        headY = new int[games];
+        velocityX = new int[games];
+        velocityY = new int[games];
+        food = new int[games];
+        specialFood = new int[games];
+        score = new int[games];
+        ticks = new int[games];
+        lastMeal = new int[games];
+        random = new long[games];
+        episodes = new long[games];
+        episodeScores = new long[games];
+        bestScore = new int[games];
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < games; i++) {
+            random[i] = seeds.nextLong();
+        }
+        reset();
+    }
+
+    // Start Every Game Over, clearing rewards and done codes
+    public void reset() {
+        run(null);
+    }
+
+    // Advance Every Game One Step with one Direction ordinal per game, read from the actions
+    // buffer at indices 0 to games - 1 (its position is ignored)
+    public void step(ByteBuffer actions) {
+        if (actions.limit() < gameCount) {
+            throw new IllegalArgumentException("Need " + gameCount + " actions, got " + actions.limit());
+        }
+        run(actions);
+        steps++;
+    }
+
+    private void run(ByteBuffer actions) {
+        Batch batch = new Batch(actions, 0, gameCount);
+        if (gameCount <= LEAF_GAMES) {
+            batch.compute(); // Not worth handing to the pool
+        } else {
+            pool.invoke(batch);
+        }
+    }
+
+    // Steps or Resets Games [first, last), splitting in half until a leaf is small enough
+    private final class Batch extends RecursiveAction {
+        private final ByteBuffer actions; // Null to reset
+        private final int first;
+        private final int last;
+
+        Batch(ByteBuffer actions, int first, int last) {
+            this.actions = actions;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= LEAF_GAMES) {
+                for (int i = first; i < last; i++) {
+                    if (actions == null) {
+                        resetGame(i);
+                    } else {
+                        stepGame(i, actions.get(i));
+                    }
+                }
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new Batch(actions, first, middle), new Batch(actions, middle, last));
+        }
+    }
+
+    // One Game's Step: steer, move, then the rules of SnakeEngine.checkCollisions and
+    // checkFoodCollision, writing the changed cells and features as it goes
+    private void stepGame(int i, int action) {
+        int gridBase = i * cellCount;
+        int featureBase = i * FEATURES;
+
+        // Steer unless reversing (an unknown action counts as NONE)
+        if (action == 1 || action == 2) {
+            if (velocityY[i] == 0) {
+                turn(i, featureBase, action);
+            }
+        } else if (action == 3 || action == 4) {
+            if (velocityX[i] == 0) {
+                turn(i, featureBase, action);
+            }
+        }
+
+        // Move: the old head becomes the neck, and the tail goes unless the snake is growing
+        int base = i * cellCount;
+        int neck = headY[i] * columns + headX[i];
+        int start = bodyStart[i] == 0 ? cellCount - 1 : bodyStart[i] - 1;
+        body[base + start] = neck;
+        bodyStart[i] = start;
+        grid.put(gridBase + neck, BODY);
+        int length = bodyLength[i] + 1;
+        if (length > score[i]) {
+            length--;
+            int tailIndex = start + length;
+            grid.put(gridBase + body[base + (tailIndex >= cellCount ? tailIndex - cellCount : tailIndex)], EMPTY);
+        }
+        bodyLength[i] = length;
+        int x = headX[i] + velocityX[i];
+        int y = headY[i] + velocityY[i];
+        headX[i] = x;
+        headY[i] = y;
+        ticks[i]++;
+
+        // Collisions with the walls or the body
+        int cell = y * columns + x;
+        if (x < 0 || x >= columns || y < 0 || y >= rows || grid.get(gridBase + cell) == BODY) {
+            finish(i, DEATH_REWARD, DIED);
+            return;
+        }
+        grid.put(gridBase + cell, HEAD);
+        features.put(featureBase, x);
+        features.put(featureBase + 1, y);
+
+        // Food, then the chance of special food, then special food
+        float reward = 0;
+        if (cell == food[i]) {
+            score[i]++;
+            reward++;
+            food[i] = -1; // The head now covers the eaten food's cell
+            placeFood(i, FOOD);
+        }
+        if (specialFood[i] == -1 && nextInt(i, SPECIAL_FOOD_CHANCE_SCALE) < SPECIAL_FOOD_CHANCE) {
+            placeFood(i, SPECIAL_FOOD);
+        }
+        if (cell == specialFood[i]) {
+            score[i] += SPECIAL_FOOD_BONUS;
+            reward += SPECIAL_FOOD_BONUS;
+            specialFood[i] = -1;
+            features.put(featureBase + 6, -1);
+            features.put(featureBase + 7, -1);
+        }
+
+        if (reward > 0) {
+            lastMeal[i] = ticks[i];
+        } else if (ticks[i] - lastMeal[i] > stallTicks || food[i] == -1) {
+            finish(i, reward, TRUNCATED);
+            return;
+        }
+        rewards.put(i, reward);
+        dones.put(i, RUNNING);
+    }
+
+    private void turn(int i, int featureBase, int action) {
+        velocityX[i] = DX[action];
+        velocityY[i] = DY[action];
+        features.put(featureBase + 2, DX[action]);
+        features.put(featureBase + 3, DY[action]);
+    }
+
+    // End a Game with its last reward and done code, and start the next one in its place
+    private void finish(int i, float reward, byte done) {
+        rewards.put(i, reward);
+        dones.put(i, done);
+        episodes[i]++;
+        episodeScores[i] += score[i];
+        bestScore[i] = Math.max(bestScore[i], score[i]);
+
+        // Clear only what the game drew: the body, the head if it is on the board, and the food
+        int gridBase = i * cellCount;
+        int base = i * cellCount;
+        for (int k = 0; k < bodyLength[i]; k++) {
+            int index = bodyStart[i] + k;
+            grid.put(gridBase + body[base + (index >= cellCount ? index - cellCount : index)], EMPTY);
+        }
+        if (headX[i] >= 0 && headX[i] < columns && headY[i] >= 0 && headY[i] < rows) {
+            grid.put(gridBase + headY[i] * columns + headX[i], EMPTY);
+        }
+        if (food[i] != -1) {
+            grid.put(gridBase + food[i], EMPTY);
+        }
+        if (specialFood[i] != -1) {
+            grid.put(gridBase + specialFood[i], EMPTY);
+        }
+        start(i);
+    }
+
+    // Clear One Game's Whole Grid and start it over
+    private void resetGame(int i) {
+        int gridBase = i * cellCount;
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid.put(gridBase + cell, EMPTY);
+        }
+        rewards.put(i, 0);
+        dones.put(i, RUNNING);
+        start(i);
+    }
+
+    // Starting Position, as in SnakeEngine.reset, on a grid already cleared
+    private void start(int i) {
+        int featureBase = i * FEATURES;
+        bodyStart[i] = 0;
+        bodyLength[i] = 0;
+        headX[i] = START_X;
+        headY[i] = START_Y;
+        velocityX[i] = 1;
+        velocityY[i] = 0;
+        score[i] = 0;
+        ticks[i] = 0;
+        lastMeal[i] = 0;
+        food[i] = -1;
+        specialFood[i] = -1;
+        grid.put(i * cellCount + START_Y * columns + START_X, HEAD);
+        features.put(featureBase, START_X);
+        features.put(featureBase + 1, START_Y);
+        features.put(featureBase + 2, 1);
+        features.put(featureBase + 3, 0);
+        features.put(featureBase + 6, -1);
+        features.put(featureBase + 7, -1);
+        placeFood(i, FOOD);
+    }
+
+    // Put Food (or Special Food) on a Random Free Cell, or none if the board is full
+    private void placeFood(int i, byte code) {
+        int cell = randomFreeCell(i);
+        int featureBase = i * FEATURES + (code == FOOD ? 4 : 6);
+        if (code == FOOD) {
+            food[i] = cell;
+        } else {
+            specialFood[i] = cell;
+        }
+        if (cell == -1) {
+            features.put(featureBase, -1);
+            features.put(featureBase + 1, -1);
+            return;
+        }
+        grid.put(i * cellCount + cell, code);
+        features.put(featureBase, cell % columns);
+        features.put(featureBase + 1, cell / columns);
+    }
+
+    // Uniformly Random Empty Cell, or -1 if there is none, as SnakeEngine places food
+    private int randomFreeCell(int i) {
+        int gridBase = i * cellCount;
+        return RandomCells.randomFreeCell(cellCount, bound -> nextInt(i, bound), cell -> grid.get(gridBase + cell) == EMPTY);
+    }
+
+    // Next Value in [0, bound) from One Game's SplitMix64 stream
+    private int nextInt(int i, int bound) {
+        return RandomCells.nextInt(random[i] += RandomCells.GAMMA, bound);
+    }
+
+    // Fingerprint of Every Game, for comparing runs
+    public long checksum() {
+        long hash = steps;
+        for (int i = 0; i < gameCount; i++) {
+            hash = hash * 31 + headY[i] * columns + headX[i];
+            hash = hash * 31 + bodyLength[i];
+            hash = hash * 31 + score[i];
+            hash = hash * 31 + food[i];
+            hash = hash * 31 + specialFood[i];
+            hash = hash * 31 + episodes[i];
+        }
+        return hash;
+    }
+
+    // Observation Buffers, updated in place by every step
+    public ByteBuffer getGrid() {
+        return grid;
+    }
+
+    public FloatBuffer getFeatures() {
+        return features;
+    }
+
+    public FloatBuffer getRewards() {
+        return rewards;
+    }
+
+    public ByteBuffer getDones() {
+        return dones;
+    }
+
+    // Getters
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getEpisodes() {
+        long total = 0;
+        for (long count : episodes) {
+            total += count;
+        }
+        return total;
+    }
+
+    public double getMeanEpisodeScore() {
+        long total = 0;
+        for (long sum : episodeScores) {
+            total += sum;
+        }
+        long count = getEpisodes();
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public int getBestScore() {
+        int best = 0;
+        for (int value : bestScore) {
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    // Random Actions for Measuring: a few buffers of Direction ordinals to cycle through, each
+    // game turning now and then and otherwise keeping its course, like an untrained agent
+    static ByteBuffer[] randomActions(int games, int buffers, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ByteBuffer[] actions = new ByteBuffer[buffers];
+        for (int b = 0; b < buffers; b++) {
+            actions[b] = ByteBuffer.allocateDirect(games);
+            for (int i = 0; i < games; i++) {
+                actions[b].put(i, (byte) (random.nextInt(4) == 0 ? 1 + random.nextInt(4) : Direction.NONE.ordinal()));
+            }
+        }
+        return actions;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 16_384;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int steps = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%d games on %dx%d for %d steps%n", games, columns, rows, steps);
+        ByteBuffer[] actions = randomActions(games, 16, 7);
+        long[] checksums = new long[2];
+        int[] threadCounts = { 1, threads };
+        for (int run = 0; run < threadCounts.length; run++) {
+            ForkJoinPool pool = new ForkJoinPool(threadCounts[run]);
+            VectorEnv env = new VectorEnv(columns, rows, games, 42, pool);
+            long start = System.nanoTime();
+            for (int t = 0; t < steps; t++) {
+                env.step(actions[t & 15]);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            checksums[run] = env.checksum();
+            System.out.printf("%2d threads: %.2f s, %.1f M steps/s, %d episodes, mean score %.2f, best %d, checksum %016x%n",
+                    threadCounts[run], seconds, (double) games * steps / seconds / 1e6, env.getEpisodes(),
+                    env.getMeanEpisodeScore(), env.getBestScore(), checksums[run]);
+            pool.shutdown();
+        }
+        System.out.println(checksums[0] == checksums[1] ? "Both runs match." : "Runs DIFFER: the games are not independent.");
+    }
+}
@@ -0,0 +1,45 @@
+package snake;
+
+import java.awt.*;
+
+// Window onto a Board Larger than It: where to put the camera, and the grid lines and shading
+// that are in view. Shared by the game and the network client, which keep their own camera (the
+// board pixel at the window's top-left corner) and pass it in.
+final class Viewport {
+    private Viewport() {
+    }
+
+    // Camera Coordinate Centering the Head (in board pixels) along one axis, clamped to the
+    // board; a board smaller than the window is centered in it
+    static int cameraFor(int head, int boardPixels, int windowPixels) {
+        if (boardPixels <= windowPixels) {
+            return (boardPixels - windowPixels) / 2;
+        }
+        return Math.max(0, Math.min(boardPixels - windowPixels, head - windowPixels / 2));
+    }
+
+    // Draw Grid Lines Crossing the Window, and shade the window outside the board
+    static void drawVisibleGrid(Graphics g, int columns, int rows, int tileSize, int cameraX, int cameraY,
+                                int windowWidth, int windowHeight) {
+        int boardRight = columns * tileSize - cameraX;
+        int boardBottom = rows * tileSize - cameraY;
+        int left = Math.max(0, -cameraX);
+        int top = Math.max(0, -cameraY);
+        int right = Math.min(windowWidth, boardRight);
+        int bottom = Math.min(windowHeight, boardBottom);
+        g.setColor(Color.darkGray);
+        if (left > 0 || top > 0 || right < windowWidth || bottom < windowHeight) {
+            g.fillRect(0, 0, windowWidth, top);
+            g.fillRect(0, bottom, windowWidth, windowHeight - bottom);
+            g.fillRect(0, top, left, bottom - top);
+            g.fillRect(right, top, windowWidth - right, bottom - top);
+        }
+        g.setColor(Color.gray);
+        for (int x = left + Math.floorMod(-cameraX - left, tileSize); x <= right; x += tileSize) {
+            g.drawLine(x, top, x, bottom);
+        }
+        for (int y = top + Math.floorMod(-cameraY - top, tileSize); y <= bottom; y += tileSize) {
+            g.drawLine(left, y, right, y);
+        }
+    }
+}